@@ -1,23 +1,52 @@
 package io.github.artemfedorov2004.customerapp.client;
 
 import io.github.artemfedorov2004.customerapp.entity.Product;
-import lombok.RequiredArgsConstructor;
+import io.github.artemfedorov2004.customerapp.entity.ProductPage;
+import io.github.artemfedorov2004.customerapp.entity.ProductRating;
+import io.github.artemfedorov2004.customerapp.entity.ProductsPage;
+import io.github.artemfedorov2004.customerapp.entity.ReviewSort;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 public class DefaultProductsRestClient implements ProductsRestClient {
 
     private static final ParameterizedTypeReference<List<Product>> PRODUCTS_TYPE_REFERENCE =
             new ParameterizedTypeReference<>() {
             };
 
+    private static final ParameterizedTypeReference<List<ProductRating>> PRODUCT_RATINGS_TYPE_REFERENCE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private static final int MAX_PRODUCT_IDS = 100;
+
     private final RestClient restClient;
 
+    private final BatchLoader<Long, Product> productLoader;
+
+    public DefaultProductsRestClient(RestClient restClient) {
+        this(restClient, MAX_PRODUCT_IDS);
+    }
+
+    public DefaultProductsRestClient(RestClient restClient, int maxBatchSize) {
+        if (maxBatchSize < 1 || maxBatchSize > MAX_PRODUCT_IDS) {
+            throw new IllegalArgumentException("maxBatchSize must be between 1 and %d, but was %d"
+                    .formatted(MAX_PRODUCT_IDS, maxBatchSize));
+        }
+        this.restClient = restClient;
+        this.productLoader = new BatchLoader<>(this::getProducts, maxBatchSize);
+    }
+
     @Override
     public List<Product> getAllProducts() {
         return this.restClient
@@ -27,15 +56,86 @@ public class DefaultProductsRestClient implements ProductsRestClient {
                 .body(PRODUCTS_TYPE_REFERENCE);
     }
 
+    @Override
+    public ProductsPage getProductsPage(String cursor, int size) {
+        return this.restClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/online-store-api/products/page")
+                        .queryParam("size", size)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .build())
+                .retrieve()
+                .body(ProductsPage.class);
+    }
+
     @Override
     public Optional<Product> getProduct(long productId) {
+        return Optional.ofNullable(this.productLoader.load(productId));
+    }
+
+    private Map<Long, Product> getProducts(List<Long> productIds) {
+        if (productIds.size() == 1) {
+            try {
+                Product product = this.restClient.get()
+                        .uri("/online-store-api/products/{productId}", productIds.getFirst())
+                        .retrieve()
+                        .body(Product.class);
+                return product == null ? Map.of() : Map.of(product.id(), product);
+            } catch (HttpClientErrorException.NotFound exception) {
+                return Map.of();
+            }
+        }
+
+        return this.restClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/online-store-api/products")
+                        .queryParam("ids", productIds)
+                        .build())
+                .retrieve()
+                .body(PRODUCTS_TYPE_REFERENCE)
+                .stream()
+                .collect(Collectors.toMap(Product::id, Function.identity()));
+    }
+
+    @Override
+    public ProductPage getProductPage(long productId, ReviewSort sort, String cursor, int size) {
         try {
-            return Optional.ofNullable(this.restClient.get()
-                    .uri("/online-store-api/products/{productId}", productId)
+            return this.restClient
+                    .get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/online-store-api/products/{productId}/page")
+                            .queryParam("sort", sort)
+                            .queryParam("size", size)
+                            .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                            .build(productId))
                     .retrieve()
-                    .body(Product.class));
+                    .body(ProductPage.class);
         } catch (HttpClientErrorException.NotFound exception) {
-            return Optional.empty();
+            if (isProblemDetail(exception)) {
+                throw new NoSuchElementException("online-store.errors.product.not_found", exception);
+            }
+            throw exception;
         }
     }
+
+    private static boolean isProblemDetail(HttpClientErrorException exception) {
+        MediaType contentType = exception.getResponseHeaders() == null
+                ? null
+                : exception.getResponseHeaders().getContentType();
+        return contentType != null && MediaType.APPLICATION_PROBLEM_JSON.isCompatibleWith(contentType);
+    }
+
+    @Override
+    public List<ProductRating> getProductsRatings(Collection<Long> productIds) {
+        return this.restClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/online-store-api/products/ratings")
+                        .queryParam("ids", productIds)
+                        .build())
+                .retrieve()
+                .body(PRODUCT_RATINGS_TYPE_REFERENCE);
+    }
 }
@@ -2,6 +2,8 @@ package io.github.artemfedorov2004.customerapp.client;
 
 import io.github.artemfedorov2004.customerapp.controller.payload.NewReviewPayload;
 import io.github.artemfedorov2004.customerapp.entity.Review;
+import io.github.artemfedorov2004.customerapp.entity.ReviewSort;
+import io.github.artemfedorov2004.customerapp.entity.ReviewsPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
@@ -10,6 +12,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
 import java.util.List;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 public class DefaultReviewsRestClient implements ReviewsRestClient {
@@ -29,6 +32,20 @@ public class DefaultReviewsRestClient implements ReviewsRestClient {
                 .body(REVIEWS_TYPE_REFERENCE);
     }
 
+    @Override
+    public ReviewsPage getProductReviewsPage(long productId, ReviewSort sort, String cursor, int size) {
+        return this.restClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/online-store-api/products/{productId}/reviews/page")
+                        .queryParam("sort", sort)
+                        .queryParam("size", size)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .build(productId))
+                .retrieve()
+                .body(ReviewsPage.class);
+    }
+
     @Override
     public Review createReview(long productId, NewReviewPayload payload) {
         try {
@@ -1,7 +1,12 @@
 package io.github.artemfedorov2004.customerapp.client;
 
 import io.github.artemfedorov2004.customerapp.entity.Product;
+import io.github.artemfedorov2004.customerapp.entity.ProductPage;
+import io.github.artemfedorov2004.customerapp.entity.ProductRating;
+import io.github.artemfedorov2004.customerapp.entity.ProductsPage;
+import io.github.artemfedorov2004.customerapp.entity.ReviewSort;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,5 +14,11 @@ public interface ProductsRestClient {
 
     List<Product> getAllProducts();
 
+    ProductsPage getProductsPage(String cursor, int size);
+
     Optional<Product> getProduct(long productId);
+
+    ProductPage getProductPage(long productId, ReviewSort sort, String cursor, int size);
+
+    List<ProductRating> getProductsRatings(Collection<Long> productIds);
 }
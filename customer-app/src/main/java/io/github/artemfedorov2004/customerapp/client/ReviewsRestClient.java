@@ -2,6 +2,8 @@ package io.github.artemfedorov2004.customerapp.client;
 
 import io.github.artemfedorov2004.customerapp.controller.payload.NewReviewPayload;
 import io.github.artemfedorov2004.customerapp.entity.Review;
+import io.github.artemfedorov2004.customerapp.entity.ReviewSort;
+import io.github.artemfedorov2004.customerapp.entity.ReviewsPage;
 
 import java.util.List;
 
@@ -9,5 +11,7 @@ public interface ReviewsRestClient {
 
     List<Review> getAllProductReviews(long productId);
 
+    ReviewsPage getProductReviewsPage(long productId, ReviewSort sort, String cursor, int size);
+
     Review createReview(long productId, NewReviewPayload payload);
 }
@@ -4,17 +4,30 @@ import de.codecentric.boot.admin.client.registration.BlockingRegistrationClient;
 import de.codecentric.boot.admin.client.registration.RegistrationClient;
 import io.github.artemfedorov2004.customerapp.client.DefaultProductsRestClient;
 import io.github.artemfedorov2004.customerapp.client.DefaultReviewsRestClient;
+import io.github.artemfedorov2004.customerapp.client.InstrumentedConnectionManager;
+import io.github.artemfedorov2004.customerapp.security.OAuthAccessTokenCache;
 import io.github.artemfedorov2004.customerapp.security.OAuthClientHttpRequestInterceptor;
+import io.github.artemfedorov2004.customerapp.security.RequestContextTaskDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProviderBuilder;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.DefaultOAuth2AuthorizedClientManager;
@@ -22,34 +35,114 @@ import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepo
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class ClientBeans {
 
+    @Bean(destroyMethod = "close")
+    public InstrumentedConnectionManager onlineStoreServiceConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${online-store.services.online-store-service.http-client.max-connections:100}")
+            int maxConnections,
+            @Value("${online-store.services.online-store-service.http-client.max-connections-per-route:50}")
+            int maxConnectionsPerRoute,
+            @Value("${online-store.services.online-store-service.http-client.connect-timeout:PT2S}")
+            Duration connectTimeout,
+            @Value("${online-store.services.online-store-service.http-client.read-timeout:PT10S}")
+            Duration readTimeout
+    ) {
+        InstrumentedConnectionManager connectionManager =
+                new InstrumentedConnectionManager("online-store-service", meterRegistry);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient onlineStoreServiceHttpClient(
+            InstrumentedConnectionManager onlineStoreServiceConnectionManager,
+            @Value("${online-store.services.online-store-service.http-client.connection-request-timeout:PT1S}")
+            Duration connectionRequestTimeout,
+            @Value("${online-store.services.online-store-service.http-client.idle-timeout:PT30S}")
+            Duration idleTimeout
+    ) {
+        return HttpClients.custom()
+                .setConnectionManager(onlineStoreServiceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    @Bean
+    public OAuthAccessTokenCache oAuthAccessTokenCache(
+            ClientRegistrationRepository clientRegistrationRepository,
+            OAuth2AuthorizedClientService authorizedClientService,
+            MeterRegistry meterRegistry,
+            @Value("${online-store.services.online-store-service.token-cache.refresh-ahead:PT30S}")
+            Duration refreshAhead,
+            @Value("${online-store.services.online-store-service.token-cache.maximum-size:10000}")
+            int maximumSize
+    ) {
+        AuthorizedClientServiceOAuth2AuthorizedClientManager backgroundAuthorizedClientManager =
+                new AuthorizedClientServiceOAuth2AuthorizedClientManager(clientRegistrationRepository,
+                        authorizedClientService);
+        backgroundAuthorizedClientManager.setAuthorizedClientProvider(OAuth2AuthorizedClientProviderBuilder.builder()
+                .refreshToken()
+                .build());
+        return new OAuthAccessTokenCache(backgroundAuthorizedClientManager, meterRegistry, refreshAhead, maximumSize);
+    }
+
     @Bean
     @Scope("prototype")
     public RestClient.Builder onlineStoreServicesRestClientBuilder(
             ClientRegistrationRepository clientRegistrationRepository,
             OAuth2AuthorizedClientRepository authorizedClientRepository,
             @Value("${online-store.services.online-store-service.registration-id:keycloak}")
-            String registrationId
+            String registrationId,
+            CloseableHttpClient onlineStoreServiceHttpClient,
+            OAuthAccessTokenCache oAuthAccessTokenCache
     ) {
         OAuthClientHttpRequestInterceptor oAuthClientHttpRequestInterceptor =
                 new OAuthClientHttpRequestInterceptor(
                         new DefaultOAuth2AuthorizedClientManager(clientRegistrationRepository,
-                                authorizedClientRepository), registrationId);
+                                authorizedClientRepository), registrationId, oAuthAccessTokenCache);
 
         return RestClient.builder()
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(onlineStoreServiceHttpClient))
                 .requestInterceptor(oAuthClientHttpRequestInterceptor);
     }
 
+    @Bean
+    public SimpleAsyncTaskExecutor onlineStoreServicesTaskExecutor(
+            @Value("${online-store.services.online-store-service.concurrency-limit:256}")
+            int concurrencyLimit
+    ) {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("online-store-service-");
+        taskExecutor.setVirtualThreads(true);
+        taskExecutor.setConcurrencyLimit(concurrencyLimit);
+        taskExecutor.setTaskDecorator(new RequestContextTaskDecorator());
+        return taskExecutor;
+    }
+
     @Bean
     public DefaultProductsRestClient productsRestClient(
             @Value("${online-store.services.online-store-service.uri:http://localhost:8080}")
             String onlineStoreServiceBaseUri,
-            RestClient.Builder onlineStoreServicesRestClientBuilder) {
+            RestClient.Builder onlineStoreServicesRestClientBuilder,
+            @Value("${online-store.services.online-store-service.product-batch.max-size:100}")
+            int productBatchMaxSize) {
         return new DefaultProductsRestClient(onlineStoreServicesRestClientBuilder
                 .baseUrl(onlineStoreServiceBaseUri)
-                .build());
+                .build(), productBatchMaxSize);
     }
 
     @Bean
@@ -3,11 +3,16 @@ package io.github.artemfedorov2004.customerapp.controller;
 import io.github.artemfedorov2004.customerapp.client.ProductsRestClient;
 import io.github.artemfedorov2004.customerapp.client.ReviewsRestClient;
 import io.github.artemfedorov2004.customerapp.entity.Product;
-import io.github.artemfedorov2004.customerapp.entity.Review;
+import io.github.artemfedorov2004.customerapp.entity.ProductPage;
+import io.github.artemfedorov2004.customerapp.entity.ProductRating;
+import io.github.artemfedorov2004.customerapp.entity.ProductsPage;
+import io.github.artemfedorov2004.customerapp.entity.ReviewSort;
+import io.github.artemfedorov2004.customerapp.entity.ReviewsPage;
 import io.github.artemfedorov2004.customerapp.exception.ResourceNotFoundException;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.stereotype.Controller;
@@ -16,49 +21,106 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.client.HttpClientErrorException;
 
-import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("online-store/products")
 public class ProductsController {
 
+    private static final int PAGE_SIZE = 20;
+
     private final ProductsRestClient productsRestClient;
 
     private final ReviewsRestClient reviewsRestClient;
 
     private final MessageSource messageSource;
 
+    private final AsyncTaskExecutor onlineStoreServicesTaskExecutor;
+
     @GetMapping("list")
-    public String getProductsList(Model model, OAuth2AuthenticationToken authenticationToken) {
+    public String getProductsList(@RequestParam(name = "cursor", required = false) String cursor,
+                                  Model model, OAuth2AuthenticationToken authenticationToken) {
         if (authenticationToken != null) {
             String preferredUsername = authenticationToken.getPrincipal()
                     .getAttribute("preferred_username");
             model.addAttribute("username", preferredUsername);
         }
-        model.addAttribute("products", this.productsRestClient.getAllProducts());
+        ProductsPage page = this.productsRestClient.getProductsPage(cursor, PAGE_SIZE);
+        Map<Long, ProductRating> ratings = page.products().isEmpty()
+                ? Map.of()
+                : this.productsRestClient.getProductsRatings(page.products().stream().map(Product::id).toList())
+                .stream()
+                .collect(Collectors.toMap(ProductRating::productId, Function.identity()));
+        model.addAttribute("products", page.products());
+        model.addAttribute("ratings", ratings);
+        model.addAttribute("nextCursor", page.nextCursor());
         return "online-store/products/list";
     }
 
     @GetMapping("{productId:\\d+}")
-    public String getProduct(@PathVariable("productId") long productId, Model model, OAuth2AuthenticationToken authenticationToken) {
-        Product product = this.productsRestClient.getProduct(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("online-store.errors.product.not_found"));
-        List<Review> reviews = this.reviewsRestClient.getAllProductReviews(productId);
+    public String getProduct(@PathVariable("productId") long productId,
+                             @RequestParam(name = "sort", defaultValue = "NEWEST") ReviewSort sort,
+                             @RequestParam(name = "cursor", required = false) String cursor,
+                             Model model, OAuth2AuthenticationToken authenticationToken) {
+        ProductPage productPage;
+        try {
+            productPage = this.productsRestClient.getProductPage(productId, sort, cursor, PAGE_SIZE);
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed exception) {
+            productPage = this.getProductPageSeparately(productId, sort, cursor);
+        }
         if (authenticationToken != null) {
             String preferredUsername = authenticationToken.getPrincipal()
                     .getAttribute("preferred_username");
             model.addAttribute("username", preferredUsername);
         }
-        model.addAttribute("product", product);
-        model.addAttribute("reviews", reviews);
+        model.addAttribute("product", productPage.product());
+        model.addAttribute("reviews", productPage.reviews().reviews());
+        model.addAttribute("sort", sort);
+        model.addAttribute("nextCursor", productPage.reviews().nextCursor());
         return "online-store/products/product";
     }
 
-    @ExceptionHandler(ResourceNotFoundException.class)
-    public String handleResourceNotFoundException(ResourceNotFoundException exception, Model model,
+    private ProductPage getProductPageSeparately(long productId, ReviewSort sort, String cursor) {
+        Future<ReviewsPage> reviewsPageFuture = this.onlineStoreServicesTaskExecutor.submit(() ->
+                this.reviewsRestClient.getProductReviewsPage(productId, sort, cursor, PAGE_SIZE));
+        Product product;
+        try {
+            product = this.productsRestClient.getProduct(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("online-store.errors.product.not_found"));
+        } catch (RuntimeException exception) {
+            reviewsPageFuture.cancel(true);
+            throw exception;
+        }
+        return new ProductPage(product, await(reviewsPageFuture));
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    @ExceptionHandler({ResourceNotFoundException.class, NoSuchElementException.class})
+    public String handleResourceNotFoundException(RuntimeException exception, Model model,
                                                HttpServletResponse response, Locale locale) {
         response.setStatus(HttpStatus.NOT_FOUND.value());
         model.addAttribute("error",
@@ -0,0 +1,4 @@
+package io.github.artemfedorov2004.customerapp.entity;
+
+public record ProductPage(Product product, ReviewsPage reviews) {
+}
@@ -0,0 +1,7 @@
+package io.github.artemfedorov2004.customerapp.entity;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public record ProductRating(Long productId, long count, BigDecimal average, Map<Integer, Long> histogram) {
+}
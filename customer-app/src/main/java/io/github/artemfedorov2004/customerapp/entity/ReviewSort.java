@@ -0,0 +1,6 @@
+package io.github.artemfedorov2004.customerapp.entity;
+
+public enum ReviewSort {
+    NEWEST,
+    RATING
+}
@@ -0,0 +1,6 @@
+package io.github.artemfedorov2004.customerapp.entity;
+
+import java.util.List;
+
+public record ReviewsPage(List<Review> reviews, String nextCursor) {
+}
@@ -0,0 +1,193 @@
+package io.github.artemfedorov2004.customerapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.ClientAuthorizationRequiredException;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+public class OAuthAccessTokenCache {
+
+    private static final Executor BACKGROUND_EXECUTOR =
+            task -> Thread.ofVirtual().name("oauth-token-refresh").start(task);
+
+    private static final Executor CALLER_EXECUTOR = Runnable::run;
+
+    private final OAuth2AuthorizedClientManager backgroundAuthorizedClientManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration refreshAhead;
+
+    private final Clock clock;
+
+    private final Cache<String, CachedToken> tokens;
+
+    private final Map<String, CompletableFuture<OAuth2AccessToken>> refreshes = new ConcurrentHashMap<>();
+
+    public OAuthAccessTokenCache(OAuth2AuthorizedClientManager backgroundAuthorizedClientManager,
+                                 MeterRegistry meterRegistry, Duration refreshAhead, int maximumSize) {
+        this(backgroundAuthorizedClientManager, meterRegistry, refreshAhead, maximumSize, Clock.systemUTC());
+    }
+
+    public OAuthAccessTokenCache(OAuth2AuthorizedClientManager backgroundAuthorizedClientManager,
+                                 MeterRegistry meterRegistry, Duration refreshAhead, int maximumSize, Clock clock) {
+        this.backgroundAuthorizedClientManager = backgroundAuthorizedClientManager;
+        this.meterRegistry = meterRegistry;
+        this.refreshAhead = refreshAhead;
+        this.clock = clock;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .ticker(() -> {
+                    Instant now = clock.instant();
+                    return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.tokens, "oauth2-tokens");
+    }
+
+    public OAuth2AccessToken getAccessToken(String registrationId, Authentication principal,
+                                            OAuth2AuthorizedClientManager authorizedClientManager) {
+        String key = registrationId + ":" + principal.getName();
+        Instant now = this.clock.instant();
+        CachedToken cachedToken = this.tokens.getIfPresent(key);
+        if (cachedToken != null && now.isBefore(cachedToken.expiresAt())) {
+            if (!now.isBefore(cachedToken.refreshAt())) {
+                this.refresh(key, () -> this.refreshInBackground(key, cachedToken, registrationId, principal),
+                        BACKGROUND_EXECUTOR);
+            }
+            return cachedToken.accessToken();
+        }
+
+        try {
+            return this.refresh(key, () -> this.authorize(authorizedClientManager, "foreground",
+                    registrationId, principal), CALLER_EXECUTOR).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    private CompletableFuture<OAuth2AccessToken> refresh(String key, Supplier<OAuth2AccessToken> authorize,
+                                                        Executor executor) {
+        CompletableFuture<OAuth2AccessToken> future = new CompletableFuture<>();
+        CompletableFuture<OAuth2AccessToken> currentRefresh = this.refreshes.putIfAbsent(key, future);
+        if (currentRefresh != null) {
+            return currentRefresh;
+        }
+
+        executor.execute(() -> {
+            try {
+                OAuth2AccessToken accessToken = authorize.get();
+                this.store(key, accessToken);
+                future.complete(accessToken);
+            } catch (Throwable exception) {
+                future.completeExceptionally(exception);
+            } finally {
+                this.refreshes.remove(key, future);
+            }
+        });
+        return future;
+    }
+
+    private OAuth2AccessToken refreshInBackground(String key, CachedToken cachedToken, String registrationId,
+                                                  Authentication principal) {
+        try {
+            return this.authorize(this.backgroundAuthorizedClientManager, "background", registrationId, principal);
+        } catch (RuntimeException exception) {
+            log.warn("Background refresh of the {} access token for {} failed, the current token is used until {}",
+                    registrationId, principal.getName(), cachedToken.expiresAt(), exception);
+            this.tokens.asMap().replace(key, cachedToken,
+                    new CachedToken(cachedToken.accessToken(), cachedToken.expiresAt()));
+            throw exception;
+        }
+    }
+
+    private void store(String key, OAuth2AccessToken accessToken) {
+        Instant expiresAt = accessToken.getExpiresAt();
+        if (expiresAt != null && this.clock.instant().isBefore(expiresAt)) {
+            this.tokens.put(key, new CachedToken(accessToken, expiresAt.minus(this.refreshAhead)));
+        } else {
+            this.tokens.invalidate(key);
+        }
+    }
+
+    private OAuth2AccessToken authorize(OAuth2AuthorizedClientManager authorizedClientManager, String mode,
+                                        String registrationId, Authentication principal) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        String result = "failure";
+        try {
+            OAuth2AuthorizedClient authorizedClient = authorizedClientManager.authorize(
+                    OAuth2AuthorizeRequest.withClientRegistrationId(registrationId)
+                            .principal(principal)
+                            .build());
+            if (authorizedClient == null) {
+                throw new ClientAuthorizationRequiredException(registrationId);
+            }
+
+            result = "success";
+            return authorizedClient.getAccessToken();
+        } finally {
+            sample.stop(Timer.builder("oauth2.token.refresh")
+                    .tag("registration", registrationId)
+                    .tag("mode", mode)
+                    .tag("result", result)
+                    .register(this.meterRegistry));
+        }
+    }
+
+    private record CachedToken(OAuth2AccessToken accessToken, Instant refreshAt) {
+
+        private Instant expiresAt() {
+            return this.accessToken.getExpiresAt();
+        }
+    }
+
+    private final class TokenExpiry implements Expiry<String, CachedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedToken cachedToken, long currentTime) {
+            return this.timeToLive(cachedToken);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedToken cachedToken, long currentTime, long currentDuration) {
+            return this.timeToLive(cachedToken);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedToken cachedToken, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long timeToLive(CachedToken cachedToken) {
+            Duration timeToLive = Duration.between(OAuthAccessTokenCache.this.clock.instant(),
+                    cachedToken.expiresAt());
+            return timeToLive.isNegative() ? 0 : timeToLive.toNanos();
+        }
+    }
+}
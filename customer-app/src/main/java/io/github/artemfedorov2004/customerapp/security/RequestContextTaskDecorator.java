@@ -0,0 +1,35 @@
+package io.github.artemfedorov2004.customerapp.security;
+
+import lombok.Setter;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Setter
+    private SecurityContextHolderStrategy securityContextHolderStrategy =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        Runnable withRequestAttributes = () -> {
+            RequestAttributes previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                runnable.run();
+            } finally {
+                RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+            }
+        };
+
+        DelegatingSecurityContextRunnable delegatingRunnable = new DelegatingSecurityContextRunnable(
+                withRequestAttributes, this.securityContextHolderStrategy.getContext());
+        delegatingRunnable.setSecurityContextHolderStrategy(this.securityContextHolderStrategy);
+        return delegatingRunnable;
+    }
+}
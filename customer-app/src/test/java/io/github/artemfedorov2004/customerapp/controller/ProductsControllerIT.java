@@ -4,6 +4,7 @@ import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import io.github.artemfedorov2004.customerapp.entity.Customer;
 import io.github.artemfedorov2004.customerapp.entity.Product;
+import io.github.artemfedorov2004.customerapp.entity.ProductRating;
 import io.github.artemfedorov2004.customerapp.entity.Review;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oidcLogin;
@@ -47,11 +49,20 @@ public class ProductsControllerIT {
         var requestBuilder = MockMvcRequestBuilders.get("/online-store/products/list")
                 .with(oidcLogin().oidcUser(oidcUser));
 
-        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products"))
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/page"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "products": [
+                                {"id": 1, "title": "Товар №1", "price": 100},
+                                {"id": 2, "title": "Товар №2", "price": 200}
+                            ],
+                            "nextCursor": "aWQ9Mg"
+                        }""").withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/ratings"))
+                .withQueryParam("ids", WireMock.havingExactly("1", "2"))
                 .willReturn(WireMock.ok("""
                         [
-                            {"id": 1, "title": "Товар №1", "price": 100},
-                            {"id": 2, "title": "Товар №2", "price": 200}
+                            {"productId": 1, "count": 2, "average": 4.50, "histogram": {"1": 0, "2": 0, "3": 0, "4": 1, "5": 1}}
                         ]""").withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
 
         // when
@@ -65,10 +76,14 @@ public class ProductsControllerIT {
                                 new Product(1L, "Товар №1", new BigDecimal(100)),
                                 new Product(2L, "Товар №2", new BigDecimal(200))
                         )),
+                        model().attribute("ratings", Map.of(1L, new ProductRating(1L, 2, new BigDecimal("4.50"),
+                                Map.of(1, 0L, 2, 0L, 3, 0L, 4, 1L, 5, 1L)))),
+                        model().attribute("nextCursor", "aWQ9Mg"),
                         model().attribute("username", "andrey")
                 );
 
-        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products")));
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/page")));
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/ratings")));
     }
 
     @Test
@@ -76,11 +91,20 @@ public class ProductsControllerIT {
         // given
         var requestBuilder = MockMvcRequestBuilders.get("/online-store/products/list");
 
-        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products"))
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/page"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "products": [
+                                {"id": 1, "title": "Товар №1", "price": 100},
+                                {"id": 2, "title": "Товар №2", "price": 200}
+                            ],
+                            "nextCursor": "aWQ9Mg"
+                        }""").withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/ratings"))
+                .withQueryParam("ids", WireMock.havingExactly("1", "2"))
                 .willReturn(WireMock.ok("""
                         [
-                            {"id": 1, "title": "Товар №1", "price": 100},
-                            {"id": 2, "title": "Товар №2", "price": 200}
+                            {"productId": 1, "count": 2, "average": 4.50, "histogram": {"1": 0, "2": 0, "3": 0, "4": 1, "5": 1}}
                         ]""").withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
 
         // when
@@ -94,10 +118,70 @@ public class ProductsControllerIT {
                                 new Product(1L, "Товар №1", new BigDecimal(100)),
                                 new Product(2L, "Товар №2", new BigDecimal(200))
                         )),
+                        model().attribute("ratings", Map.of(1L, new ProductRating(1L, 2, new BigDecimal("4.50"),
+                                Map.of(1, 0L, 2, 0L, 3, 0L, 4, 1L, 5, 1L)))),
+                        model().attribute("nextCursor", "aWQ9Mg"),
                         model().attributeDoesNotExist("username")
                 );
 
-        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products")));
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/page")));
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/ratings")));
+    }
+
+    @Test
+    void getProduct_ProductPageIsAvailable_ReturnsProductPageFromSingleRequest() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store/products/1")
+                .with(oidcLogin());
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/1/page"))
+                .withQueryParam("sort", WireMock.equalTo("NEWEST"))
+                .withQueryParam("size", WireMock.equalTo("20"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "product": {
+                                "id": 1,
+                                "title": "Товар №1",
+                                "price": 100,
+                                "rating": {"productId": 1, "count": 1, "average": 1.00, "histogram": {"1": 1}}
+                            },
+                            "reviews": {
+                                "reviews": [
+                                    {
+                                        "id": 1,
+                                        "createdBy": {
+                                            "id": "11dcb1eb-54a9-47e4-9fa0-c0cddbd62177",
+                                            "username": "Artem"
+                                        },
+                                        "rating": 1,
+                                        "createdAt": "2024-05-16T11:22:00",
+                                        "advantages": "advantages 1",
+                                        "disadvantages": "disadvantages 1",
+                                        "comment": "comment 1"
+                                    }
+                                ],
+                                "nextCursor": null
+                            }
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        view().name("online-store/products/product"),
+                        model().attribute("product",
+                                new Product(1L, "Товар №1", new BigDecimal(100))),
+                        model().attribute("reviews",
+                                List.of(new Review(1L, new Customer(UUID.fromString("11dcb1eb-54a9-47e4-9fa0-c0cddbd62177"), "Artem"), 1,
+                                        LocalDateTime.parse("2024-05-16T11:22:00"), "advantages 1", "disadvantages 1", "comment 1")))
+                );
+
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1/page")));
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1")));
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1/reviews/page")));
     }
 
     @Test
@@ -121,34 +205,39 @@ public class ProductsControllerIT {
                         }
                         """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
 
-        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/1/reviews"))
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/1/reviews/page"))
+                .withQueryParam("sort", WireMock.equalTo("NEWEST"))
+                .withQueryParam("size", WireMock.equalTo("20"))
                 .willReturn(WireMock.ok("""
-                        [
-                            {
-                                "id": 1,
-                                "createdBy": {
-                                    "id": "11dcb1eb-54a9-47e4-9fa0-c0cddbd62177",
-                                    "username": "Artem"
-                                 },
-                                 "rating": 1,
-                                 "createdAt": "2024-05-16T11:22:00",
-                                 "advantages": "advantages 1",
-                                 "disadvantages": "disadvantages 1",
-                                 "comment": "comment 1"
-                            },
-                            {
-                                "id": 2,
-                                "createdBy": {
-                                    "id": "11dcb1eb-54a9-47e4-9fa0-c0cddbd62177",
-                                    "username": "Artem"
+                        {
+                            "reviews": [
+                                {
+                                    "id": 1,
+                                    "createdBy": {
+                                        "id": "11dcb1eb-54a9-47e4-9fa0-c0cddbd62177",
+                                        "username": "Artem"
+                                     },
+                                     "rating": 1,
+                                     "createdAt": "2024-05-16T11:22:00",
+                                     "advantages": "advantages 1",
+                                     "disadvantages": "disadvantages 1",
+                                     "comment": "comment 1"
                                 },
-                                "rating": 2,
-                                "createdAt": "2024-05-15T12:23:00",
-                                "advantages": "advantages 2",
-                                "disadvantages": "disadvantages 2",
-                                "comment": "comment 2"
-                            }
-                        ]
+                                {
+                                    "id": 2,
+                                    "createdBy": {
+                                        "id": "11dcb1eb-54a9-47e4-9fa0-c0cddbd62177",
+                                        "username": "Artem"
+                                    },
+                                    "rating": 2,
+                                    "createdAt": "2024-05-15T12:23:00",
+                                    "advantages": "advantages 2",
+                                    "disadvantages": "disadvantages 2",
+                                    "comment": "comment 2"
+                                }
+                            ],
+                            "nextCursor": "cursor"
+                        }
                         """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
 
         // when
@@ -161,6 +250,7 @@ public class ProductsControllerIT {
                         model().attribute("product",
                                 new Product(1L, "Товар №1", new BigDecimal(100))),
                         model().attribute("username", "andrey"),
+                        model().attribute("nextCursor", "cursor"),
                         model().attribute("reviews",
                                 List.of(
                                         new Review(1L, new Customer(UUID.fromString("11dcb1eb-54a9-47e4-9fa0-c0cddbd62177"), "Artem"), 1,
@@ -171,7 +261,7 @@ public class ProductsControllerIT {
                 );
 
         WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1")));
-        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1/reviews")));
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1/reviews/page")));
     }
 
     @Test
@@ -196,6 +286,38 @@ public class ProductsControllerIT {
         WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1")));
     }
 
+    @Test
+    void getProduct_ProductPageReportsProductNotFound_ReturnsError404PageWithoutFallback() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store/products/1")
+                .with(oidcLogin());
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/1/page"))
+                .willReturn(WireMock.notFound()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+                        .withBody("""
+                                {
+                                    "title": "Not Found",
+                                    "status": 404,
+                                    "detail": "Товар не найден",
+                                    "instance": "/online-store-api/products/1/page"
+                                }""")));
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        view().name("errors/404"),
+                        model().attribute("error", "Товар не найден")
+                );
+
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1/page")));
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1")));
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1/reviews/page")));
+    }
+
     @Test
     void getProduct_UserIsNotAuthorized_ReturnsProductPage() throws Exception {
         // given
@@ -210,34 +332,39 @@ public class ProductsControllerIT {
                         }
                         """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
 
-        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/1/reviews"))
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/1/reviews/page"))
+                .withQueryParam("sort", WireMock.equalTo("NEWEST"))
+                .withQueryParam("size", WireMock.equalTo("20"))
                 .willReturn(WireMock.ok("""
-                        [
-                            {
-                                "id": 1,
-                                "createdBy": {
-                                    "id": "11dcb1eb-54a9-47e4-9fa0-c0cddbd62177",
-                                    "username": "Artem"
-                                 },
-                                 "rating": 1,
-                                 "createdAt": "2024-05-16T11:22:00",
-                                 "advantages": "advantages 1",
-                                 "disadvantages": "disadvantages 1",
-                                 "comment": "comment 1"
-                            },
-                            {
-                                "id": 2,
-                                "createdBy": {
-                                    "id": "11dcb1eb-54a9-47e4-9fa0-c0cddbd62177",
-                                    "username": "Artem"
+                        {
+                            "reviews": [
+                                {
+                                    "id": 1,
+                                    "createdBy": {
+                                        "id": "11dcb1eb-54a9-47e4-9fa0-c0cddbd62177",
+                                        "username": "Artem"
+                                     },
+                                     "rating": 1,
+                                     "createdAt": "2024-05-16T11:22:00",
+                                     "advantages": "advantages 1",
+                                     "disadvantages": "disadvantages 1",
+                                     "comment": "comment 1"
                                 },
-                                "rating": 2,
-                                "createdAt": "2024-05-15T12:23:00",
-                                "advantages": "advantages 2",
-                                "disadvantages": "disadvantages 2",
-                                "comment": "comment 2"
-                            }
-                        ]
+                                {
+                                    "id": 2,
+                                    "createdBy": {
+                                        "id": "11dcb1eb-54a9-47e4-9fa0-c0cddbd62177",
+                                        "username": "Artem"
+                                    },
+                                    "rating": 2,
+                                    "createdAt": "2024-05-15T12:23:00",
+                                    "advantages": "advantages 2",
+                                    "disadvantages": "disadvantages 2",
+                                    "comment": "comment 2"
+                                }
+                            ],
+                            "nextCursor": "cursor"
+                        }
                         """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
 
         // when
@@ -259,7 +386,7 @@ public class ProductsControllerIT {
                 );
 
         WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1")));
-        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1/reviews")));
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/1/reviews/page")));
     }
 
     @Test
@@ -4,14 +4,23 @@ import io.github.artemfedorov2004.customerapp.client.ProductsRestClient;
 import io.github.artemfedorov2004.customerapp.client.ReviewsRestClient;
 import io.github.artemfedorov2004.customerapp.entity.Customer;
 import io.github.artemfedorov2004.customerapp.entity.Product;
+import io.github.artemfedorov2004.customerapp.entity.ProductPage;
+import io.github.artemfedorov2004.customerapp.entity.ProductRating;
+import io.github.artemfedorov2004.customerapp.entity.ProductsPage;
 import io.github.artemfedorov2004.customerapp.entity.Review;
+import io.github.artemfedorov2004.customerapp.entity.ReviewSort;
+import io.github.artemfedorov2004.customerapp.entity.ReviewsPage;
 import io.github.artemfedorov2004.customerapp.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.GrantedAuthority;
@@ -21,10 +30,16 @@ import org.springframework.security.oauth2.core.oidc.OidcIdToken;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.ui.ConcurrentModel;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,6 +57,9 @@ public class ProductsControllerTest {
     @Mock
     MessageSource messageSource;
 
+    @Spy
+    AsyncTaskExecutor onlineStoreServicesTaskExecutor = new SimpleAsyncTaskExecutor();
+
     @InjectMocks
     ProductsController controller;
 
@@ -62,14 +80,19 @@ public class ProductsControllerTest {
                 .mapToObj(i -> new Product(i, "Товар №%d".formatted(i), new BigDecimal(i)))
                 .toList();
 
-        doReturn(products).when(this.productsRestClient).getAllProducts();
+        var rating = new ProductRating(2L, 1, new BigDecimal("5.00"), Map.of(1, 0L, 2, 0L, 3, 0L, 4, 0L, 5, 1L));
+
+        doReturn(new ProductsPage(products, "next")).when(this.productsRestClient).getProductsPage(null, 20);
+        doReturn(List.of(rating)).when(this.productsRestClient).getProductsRatings(List.of(1L, 2L, 3L));
 
         // when
-        var result = this.controller.getProductsList(model, authenticationToken);
+        var result = this.controller.getProductsList(null, model, authenticationToken);
 
         // then
         assertEquals("online-store/products/list", result);
         assertEquals(products, model.getAttribute("products"));
+        assertEquals(Map.of(2L, rating), model.getAttribute("ratings"));
+        assertEquals("next", model.getAttribute("nextCursor"));
         assertEquals("andrey", model.getAttribute("username"));
     }
 
@@ -81,19 +104,51 @@ public class ProductsControllerTest {
                 .mapToObj(i -> new Product(i, "Товар №%d".formatted(i), new BigDecimal(i)))
                 .toList();
 
-        doReturn(products).when(this.productsRestClient).getAllProducts();
+        doReturn(new ProductsPage(products, null)).when(this.productsRestClient).getProductsPage("cursor", 20);
+        doReturn(List.of()).when(this.productsRestClient).getProductsRatings(List.of(1L, 2L, 3L));
 
         // when
-        var result = this.controller.getProductsList(model, null);
+        var result = this.controller.getProductsList("cursor", model, null);
 
         // then
         assertEquals("online-store/products/list", result);
         assertEquals(products, model.getAttribute("products"));
+        assertEquals(Map.of(), model.getAttribute("ratings"));
+        assertNull(model.getAttribute("nextCursor"));
         assertFalse(model.containsAttribute("username"));
     }
 
     @Test
-    void getProduct_ProductExists_ReturnsProductPage() {
+    void getProduct_ProductExists_ReturnsProductPageFromSingleRequest() {
+        // given
+        Product product = new Product(1L, "Продукт 1", BigDecimal.valueOf(1000));
+        List<Review> reviews = List.of(
+                new Review(1L, new Customer(UUID.randomUUID(), "andrey"), 5,
+                        LocalDateTime.now(), "advantages", "disadvantages", "comment")
+        );
+        var model = new ConcurrentModel();
+
+        doReturn(new ProductPage(product, new ReviewsPage(reviews, "cursor"))).when(this.productsRestClient)
+                .getProductPage(1L, ReviewSort.RATING, "previous", 20);
+
+        // when
+        var result = this.controller.getProduct(1L, ReviewSort.RATING, "previous", model, null);
+
+        // then
+        assertEquals("online-store/products/product", result);
+        assertEquals(product, model.getAttribute("product"));
+        assertEquals(reviews, model.getAttribute("reviews"));
+        assertEquals(ReviewSort.RATING, model.getAttribute("sort"));
+        assertEquals("cursor", model.getAttribute("nextCursor"));
+
+        verify(this.productsRestClient).getProductPage(1L, ReviewSort.RATING, "previous", 20);
+        verifyNoMoreInteractions(this.productsRestClient);
+        verifyNoInteractions(this.reviewsRestClient);
+        verifyNoInteractions(this.onlineStoreServicesTaskExecutor);
+    }
+
+    @Test
+    void getProduct_ProductPageIsUnavailable_ReturnsProductPageFromSeparateRequests() {
         // given
         Product product = new Product(1L, "Продукт 1", BigDecimal.valueOf(1000));
         List<Review> reviews = List.of(
@@ -112,22 +167,28 @@ public class ProductsControllerTest {
                 "preferred_username");
         OAuth2AuthenticationToken authenticationToken = new OAuth2AuthenticationToken(principal, authorities, "keycloak");
 
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null)).when(this.productsRestClient)
+                .getProductPage(1L, ReviewSort.NEWEST, null, 20);
         doReturn(Optional.of(product)).when(this.productsRestClient).getProduct(1L);
-        doReturn(reviews).when(this.reviewsRestClient).getAllProductReviews(1L);
+        doReturn(new ReviewsPage(reviews, "cursor")).when(this.reviewsRestClient)
+                .getProductReviewsPage(1L, ReviewSort.NEWEST, null, 20);
 
         // when
-        var result = this.controller.getProduct(1L, model, authenticationToken);
+        var result = this.controller.getProduct(1L, ReviewSort.NEWEST, null, model, authenticationToken);
 
         // then
         assertEquals("online-store/products/product", result);
         assertEquals(product, model.getAttribute("product"));
         assertEquals(reviews, model.getAttribute("reviews"));
+        assertEquals(ReviewSort.NEWEST, model.getAttribute("sort"));
+        assertEquals("cursor", model.getAttribute("nextCursor"));
         assertEquals("andrey", model.getAttribute("username"));
 
+        verify(this.productsRestClient).getProductPage(1L, ReviewSort.NEWEST, null, 20);
         verify(this.productsRestClient).getProduct(1L);
         verifyNoMoreInteractions(this.productsRestClient);
 
-        verify(this.reviewsRestClient).getAllProductReviews(1L);
+        verify(this.reviewsRestClient).getProductReviewsPage(1L, ReviewSort.NEWEST, null, 20);
         verifyNoMoreInteractions(this.reviewsRestClient);
     }
 
@@ -143,22 +204,28 @@ public class ProductsControllerTest {
         );
         var model = new ConcurrentModel();
 
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null)).when(this.productsRestClient)
+                .getProductPage(1L, ReviewSort.NEWEST, null, 20);
         doReturn(Optional.of(product)).when(this.productsRestClient).getProduct(1L);
-        doReturn(reviews).when(this.reviewsRestClient).getAllProductReviews(1L);
+        doReturn(new ReviewsPage(reviews, "cursor")).when(this.reviewsRestClient)
+                .getProductReviewsPage(1L, ReviewSort.NEWEST, null, 20);
 
         // when
-        var result = this.controller.getProduct(1L, model, null);
+        var result = this.controller.getProduct(1L, ReviewSort.NEWEST, null, model, null);
 
         // then
         assertEquals("online-store/products/product", result);
         assertEquals(product, model.getAttribute("product"));
         assertEquals(reviews, model.getAttribute("reviews"));
+        assertEquals(ReviewSort.NEWEST, model.getAttribute("sort"));
+        assertEquals("cursor", model.getAttribute("nextCursor"));
         assertFalse(model.containsAttribute("username"));
 
+        verify(this.productsRestClient).getProductPage(1L, ReviewSort.NEWEST, null, 20);
         verify(this.productsRestClient).getProduct(1L);
         verifyNoMoreInteractions(this.productsRestClient);
 
-        verify(this.reviewsRestClient).getAllProductReviews(1L);
+        verify(this.reviewsRestClient).getProductReviewsPage(1L, ReviewSort.NEWEST, null, 20);
         verifyNoMoreInteractions(this.reviewsRestClient);
     }
 
@@ -175,18 +242,161 @@ public class ProductsControllerTest {
                 "preferred_username");
         OAuth2AuthenticationToken authenticationToken = new OAuth2AuthenticationToken(principal, authorities, "keycloak");
 
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null)).when(this.productsRestClient)
+                .getProductPage(1L, ReviewSort.NEWEST, null, 20);
         doReturn(Optional.empty()).when(this.productsRestClient).getProduct(1L);
 
         // when
-        var exception = assertThrows(ResourceNotFoundException.class, () -> this.controller.getProduct(1L, model, authenticationToken));
+        var exception = assertThrows(ResourceNotFoundException.class, () -> this.controller.getProduct(1L, ReviewSort.NEWEST, null, model, authenticationToken));
 
         // then
         assertEquals("online-store.errors.product.not_found", exception.getMessage());
 
+        verify(this.productsRestClient).getProductPage(1L, ReviewSort.NEWEST, null, 20);
         verify(this.productsRestClient).getProduct(1L);
         verifyNoMoreInteractions(this.productsRestClient);
     }
 
+    @Test
+    void getProduct_ProductPageReportsProductNotFound_ThrowsNoSuchElementException() {
+        // given
+        var model = new ConcurrentModel();
+
+        doThrow(new NoSuchElementException("online-store.errors.product.not_found")).when(this.productsRestClient)
+                .getProductPage(1L, ReviewSort.NEWEST, null, 20);
+
+        // when
+        var exception = assertThrows(NoSuchElementException.class,
+                () -> this.controller.getProduct(1L, ReviewSort.NEWEST, null, model, null));
+
+        // then
+        assertEquals("online-store.errors.product.not_found", exception.getMessage());
+
+        verify(this.productsRestClient).getProductPage(1L, ReviewSort.NEWEST, null, 20);
+        verifyNoMoreInteractions(this.productsRestClient);
+        verifyNoInteractions(this.reviewsRestClient);
+    }
+
+    @Test
+    void getProduct_ProductPageEndpointIsNotAllowed_ReturnsProductPageFromSeparateRequests() {
+        // given
+        Product product = new Product(1L, "Продукт 1", BigDecimal.valueOf(1000));
+        var model = new ConcurrentModel();
+
+        doThrow(HttpClientErrorException.create(HttpStatus.METHOD_NOT_ALLOWED, "Method Not Allowed",
+                new HttpHeaders(), null, null)).when(this.productsRestClient)
+                .getProductPage(1L, ReviewSort.NEWEST, null, 20);
+        doReturn(Optional.of(product)).when(this.productsRestClient).getProduct(1L);
+        doReturn(new ReviewsPage(List.of(), null)).when(this.reviewsRestClient)
+                .getProductReviewsPage(1L, ReviewSort.NEWEST, null, 20);
+
+        // when
+        var result = this.controller.getProduct(1L, ReviewSort.NEWEST, null, model, null);
+
+        // then
+        assertEquals("online-store/products/product", result);
+        assertEquals(product, model.getAttribute("product"));
+    }
+
+    @Test
+    void getProduct_ProductPageFailsWithServerError_ThrowsHttpServerErrorException() {
+        // given
+        var model = new ConcurrentModel();
+
+        doThrow(HttpServerErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                new HttpHeaders(), null, null)).when(this.productsRestClient)
+                .getProductPage(1L, ReviewSort.NEWEST, null, 20);
+
+        // when
+        assertThrows(HttpServerErrorException.class,
+                () -> this.controller.getProduct(1L, ReviewSort.NEWEST, null, model, null));
+
+        // then
+        verify(this.productsRestClient).getProductPage(1L, ReviewSort.NEWEST, null, 20);
+        verifyNoMoreInteractions(this.productsRestClient);
+        verifyNoInteractions(this.reviewsRestClient);
+    }
+
+    @Test
+    void getProduct_ProductPageTimesOut_ThrowsResourceAccessException() {
+        // given
+        var model = new ConcurrentModel();
+
+        doThrow(new ResourceAccessException("Read timed out")).when(this.productsRestClient)
+                .getProductPage(1L, ReviewSort.NEWEST, null, 20);
+
+        // when
+        assertThrows(ResourceAccessException.class,
+                () -> this.controller.getProduct(1L, ReviewSort.NEWEST, null, model, null));
+
+        // then
+        verify(this.productsRestClient).getProductPage(1L, ReviewSort.NEWEST, null, 20);
+        verifyNoMoreInteractions(this.productsRestClient);
+        verifyNoInteractions(this.reviewsRestClient);
+    }
+
+    @Test
+    void getProduct_ProductExists_FetchesProductAndReviewsConcurrently() {
+        // given
+        Product product = new Product(1L, "Продукт 1", BigDecimal.valueOf(1000));
+        var model = new ConcurrentModel();
+
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null)).when(this.productsRestClient)
+                .getProductPage(1L, ReviewSort.NEWEST, null, 20);
+        doAnswer(invocation -> {
+            Thread.sleep(Duration.ofMillis(500));
+            return Optional.of(product);
+        }).when(this.productsRestClient).getProduct(1L);
+        doAnswer(invocation -> {
+            Thread.sleep(Duration.ofMillis(500));
+            return new ReviewsPage(List.of(), null);
+        }).when(this.reviewsRestClient).getProductReviewsPage(1L, ReviewSort.NEWEST, null, 20);
+
+        // when
+        long startedAt = System.nanoTime();
+        var result = this.controller.getProduct(1L, ReviewSort.NEWEST, null, model, null);
+        var elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        // then
+        assertEquals("online-store/products/product", result);
+        assertEquals(product, model.getAttribute("product"));
+        assertEquals(List.of(), model.getAttribute("reviews"));
+        assertTrue(elapsed.compareTo(Duration.ofMillis(500)) >= 0);
+        assertTrue(elapsed.compareTo(Duration.ofMillis(900)) < 0);
+    }
+
+    @Test
+    void getProduct_ProductDoesNotExist_CancelsReviewsRequest() throws InterruptedException {
+        // given
+        var model = new ConcurrentModel();
+        var reviewsRequestStarted = new CountDownLatch(1);
+        var reviewsRequestInterrupted = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+            reviewsRequestStarted.countDown();
+            try {
+                Thread.sleep(Duration.ofSeconds(10));
+            } catch (InterruptedException exception) {
+                reviewsRequestInterrupted.countDown();
+            }
+            return new ReviewsPage(List.of(), null);
+        }).when(this.reviewsRestClient).getProductReviewsPage(1L, ReviewSort.NEWEST, null, 20);
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null)).when(this.productsRestClient)
+                .getProductPage(1L, ReviewSort.NEWEST, null, 20);
+        doAnswer(invocation -> {
+            reviewsRequestStarted.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        }).when(this.productsRestClient).getProduct(1L);
+
+        // when
+        var exception = assertThrows(ResourceNotFoundException.class,
+                () -> this.controller.getProduct(1L, ReviewSort.NEWEST, null, model, null));
+
+        // then
+        assertEquals("online-store.errors.product.not_found", exception.getMessage());
+        assertTrue(reviewsRequestInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
     @Test
     void handleResourceNotFoundException_Returns404ErrorPage() {
         // given
@@ -0,0 +1,55 @@
+package io.github.artemfedorov2004.customerapp.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestContextTaskDecoratorTest {
+
+    RequestContextTaskDecorator decorator = new RequestContextTaskDecorator();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void decorate_PropagatesSecurityContextAndRequestAttributesToWorkerThread() throws InterruptedException {
+        // given
+        var authentication = new TestingAuthenticationToken("andrey", "password");
+        var requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+
+        var workerAuthentication = new AtomicReference<Authentication>();
+        var workerRequestAttributes = new AtomicReference<RequestAttributes>();
+        var workerRequestAttributesAfterRun = new AtomicReference<RequestAttributes>();
+        Runnable task = this.decorator.decorate(() -> {
+            workerAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+            workerRequestAttributes.set(RequestContextHolder.getRequestAttributes());
+        });
+
+        // when
+        Thread worker = Thread.ofVirtual().start(() -> {
+            task.run();
+            workerRequestAttributesAfterRun.set(RequestContextHolder.getRequestAttributes());
+        });
+        worker.join();
+
+        // then
+        assertSame(authentication, workerAuthentication.get());
+        assertSame(requestAttributes, workerRequestAttributes.get());
+        assertNull(workerRequestAttributesAfterRun.get());
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.artemfedorov2004.managerapp.client;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+public class BatchLoader<K, V> {
+
+    private final Function<List<K>, Map<K, V>> batchFunction;
+
+    private final int maxBatchSize;
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Condition batchCompleted = this.lock.newCondition();
+
+    private int inFlight;
+
+    private Batch pendingBatch;
+
+    public BatchLoader(Function<List<K>, Map<K, V>> batchFunction, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public V load(K key) {
+        Batch batch = null;
+        CompletableFuture<V> future;
+        this.lock.lock();
+        try {
+            if (this.pendingBatch != null) {
+                future = this.pendingBatch.add(key);
+            } else {
+                batch = new Batch();
+                future = batch.add(key);
+                this.awaitTurn(batch);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (batch != null) {
+            this.execute(batch);
+        }
+        return join(future);
+    }
+
+    private void awaitTurn(Batch batch) {
+        if (this.inFlight > 0 && !batch.full) {
+            this.pendingBatch = batch;
+            while (this.inFlight > 0 && !batch.full) {
+                this.batchCompleted.awaitUninterruptibly();
+            }
+            if (this.pendingBatch == batch) {
+                this.pendingBatch = null;
+            }
+        }
+        this.inFlight++;
+    }
+
+    private void execute(Batch batch) {
+        try {
+            Map<K, V> values = this.batchFunction.apply(List.copyOf(batch.futures.keySet()));
+            batch.futures.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (Throwable exception) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(exception));
+        } finally {
+            this.lock.lock();
+            try {
+                this.inFlight--;
+                this.batchCompleted.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw exception;
+        }
+    }
+
+    private final class Batch {
+
+        private final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+
+        private boolean full;
+
+        private CompletableFuture<V> add(K key) {
+            CompletableFuture<V> future = this.futures.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                this.futures.put(key, future);
+                if (this.futures.size() >= BatchLoader.this.maxBatchSize) {
+                    this.full = true;
+                    if (BatchLoader.this.pendingBatch == this) {
+                        BatchLoader.this.pendingBatch = null;
+                        BatchLoader.this.batchCompleted.signalAll();
+                    }
+                }
+            }
+            return future;
+        }
+    }
+}
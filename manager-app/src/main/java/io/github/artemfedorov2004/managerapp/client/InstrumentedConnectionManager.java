@@ -0,0 +1,86 @@
+package io.github.artemfedorov2004.managerapp.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer leaseTimer;
+
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+
+    public InstrumentedConnectionManager(String name, MeterRegistry meterRegistry) {
+        this.leaseTimer = Timer.builder("http.client.connections.lease")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("http.client.requests.in-flight", this.inFlightRequests, AtomicInteger::get)
+                .tag("client", name)
+                .register(meterRegistry);
+        new PoolingHttpClientConnectionManagerMetricsBinder(this, name).bindTo(meterRegistry);
+    }
+
+    public int getInFlightRequests() {
+        return this.inFlightRequests.get();
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest leaseRequest = super.lease(id, route, requestTimeout, state);
+        this.inFlightRequests.incrementAndGet();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        return new LeaseRequest() {
+
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long startedAt = System.nanoTime();
+                try {
+                    return leaseRequest.get(timeout);
+                } catch (InterruptedException | ExecutionException | TimeoutException | RuntimeException exception) {
+                    this.abandon();
+                    throw exception;
+                } finally {
+                    leaseTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                boolean cancelled = leaseRequest.cancel();
+                if (cancelled) {
+                    this.abandon();
+                }
+                return cancelled;
+            }
+
+            private void abandon() {
+                if (abandoned.compareAndSet(false, true)) {
+                    inFlightRequests.decrementAndGet();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void release(ConnectionEndpoint endpoint, Object state, TimeValue keepAlive) {
+        try {
+            super.release(endpoint, state, keepAlive);
+        } finally {
+            this.inFlightRequests.decrementAndGet();
+        }
+    }
+}
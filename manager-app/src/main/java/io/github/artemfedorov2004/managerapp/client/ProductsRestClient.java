@@ -3,6 +3,7 @@ package io.github.artemfedorov2004.managerapp.client;
 import io.github.artemfedorov2004.managerapp.controller.payload.NewProductPayload;
 import io.github.artemfedorov2004.managerapp.controller.payload.UpdateProductPayload;
 import io.github.artemfedorov2004.managerapp.entity.Product;
+import io.github.artemfedorov2004.managerapp.entity.ProductsPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +12,8 @@ public interface ProductsRestClient {
 
     List<Product> getAllProducts();
 
+    ProductsPage getProductsPage(String cursor, int size);
+
     Optional<Product> getProduct(Long productId);
 
     Product createProduct(NewProductPayload payload);
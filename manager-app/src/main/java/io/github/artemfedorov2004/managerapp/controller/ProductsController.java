@@ -4,6 +4,7 @@ import io.github.artemfedorov2004.managerapp.client.BadRequestException;
 import io.github.artemfedorov2004.managerapp.client.ProductsRestClient;
 import io.github.artemfedorov2004.managerapp.controller.payload.NewProductPayload;
 import io.github.artemfedorov2004.managerapp.entity.Product;
+import io.github.artemfedorov2004.managerapp.entity.ProductsPage;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -14,12 +15,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("online-store/products")
 public class ProductsController {
 
+    private static final int PAGE_SIZE = 20;
+
     private final ProductsRestClient productsRestClient;
 
     @ModelAttribute("username")
@@ -29,8 +33,10 @@ public class ProductsController {
     }
 
     @GetMapping("list")
-    public String getProductsList(Model model) {
-        model.addAttribute("products", this.productsRestClient.getAllProducts());
+    public String getProductsList(@RequestParam(name = "cursor", required = false) String cursor, Model model) {
+        ProductsPage page = this.productsRestClient.getProductsPage(cursor, PAGE_SIZE);
+        model.addAttribute("products", page.products());
+        model.addAttribute("nextCursor", page.nextCursor());
         return "online-store/products/list";
     }
 
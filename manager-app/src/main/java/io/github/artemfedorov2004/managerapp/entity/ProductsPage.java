@@ -0,0 +1,6 @@
+package io.github.artemfedorov2004.managerapp.entity;
+
+import java.util.List;
+
+public record ProductsPage(List<Product> products, String nextCursor) {
+}
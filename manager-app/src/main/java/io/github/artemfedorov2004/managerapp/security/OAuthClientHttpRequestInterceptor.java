@@ -11,9 +11,8 @@ import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
-import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
-import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
 
 import java.io.IOException;
 
@@ -24,6 +23,8 @@ public class OAuthClientHttpRequestInterceptor implements ClientHttpRequestInter
 
     private final String registrationId;
 
+    private final OAuthAccessTokenCache accessTokenCache;
+
     @Setter
     private SecurityContextHolderStrategy securityContextHolderStrategy =
             SecurityContextHolder.getContextHolderStrategy();
@@ -34,12 +35,10 @@ public class OAuthClientHttpRequestInterceptor implements ClientHttpRequestInter
         Authentication authentication = this.securityContextHolderStrategy.getContext().getAuthentication();
         if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION) &&
                 !(authentication instanceof AnonymousAuthenticationToken)) {
-            OAuth2AuthorizedClient authorizedClient = this.authorizedClientManager.authorize(
-                    OAuth2AuthorizeRequest.withClientRegistrationId(this.registrationId)
-                            .principal(authentication)
-                            .build());
+            OAuth2AccessToken accessToken = this.accessTokenCache.getAccessToken(this.registrationId, authentication,
+                    this.authorizedClientManager);
 
-            request.getHeaders().setBearerAuth(authorizedClient.getAccessToken().getTokenValue());
+            request.getHeaders().setBearerAuth(accessToken.getTokenValue());
         }
 
         return execution.execute(request, body);
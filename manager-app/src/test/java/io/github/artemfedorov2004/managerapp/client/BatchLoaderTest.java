@@ -0,0 +1,152 @@
+package io.github.artemfedorov2004.managerapp.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchLoaderTest {
+
+    @Test
+    void load_NoBatchInFlight_LoadsKeyOnCallerThread() {
+        // given
+        List<List<Long>> batches = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        var loader = new BatchLoader<Long, String>(keys -> {
+            batches.add(keys);
+            threads.add(Thread.currentThread());
+            return Map.of(1L, "Товар №1");
+        }, 100);
+
+        // when
+        var first = loader.load(1L);
+        var missing = loader.load(2L);
+
+        // then
+        assertEquals("Товар №1", first);
+        assertNull(missing);
+        assertEquals(List.of(List.of(1L), List.of(2L)), batches);
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), threads);
+    }
+
+    @Test
+    void load_KeysRequestedWhileBatchIsInFlight_LoadsThemInNextBatch() throws InterruptedException {
+        // given
+        var release = new CountDownLatch(1);
+        List<List<Long>> batches = new CopyOnWriteArrayList<>();
+        var loader = new BatchLoader<Long, String>(keys -> {
+            batches.add(keys);
+            if (keys.contains(1L)) {
+                awaitUninterruptibly(release);
+            }
+            return Map.of(1L, "Товар №1", 2L, "Товар №2", 3L, "Товар №3");
+        }, 100);
+        Map<Long, String> results = new ConcurrentHashMap<>();
+
+        // when
+        var first = startLoad(loader, 1L, results);
+        awaitBatches(batches, 1);
+        var second = startLoad(loader, 2L, results);
+        awaitWaiting(second);
+        var third = startLoad(loader, 3L, results);
+        awaitWaiting(third);
+        var duplicate = startLoad(loader, 2L, new ConcurrentHashMap<>());
+        awaitWaiting(duplicate);
+        release.countDown();
+        for (Thread thread : List.of(first, second, third, duplicate)) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        // then
+        assertEquals(Map.of(1L, "Товар №1", 2L, "Товар №2", 3L, "Товар №3"), results);
+        assertEquals(List.of(List.of(1L), List.of(2L, 3L)), batches);
+    }
+
+    @Test
+    void load_BatchIsFull_LoadsItWithoutWaitingForBatchInFlight() throws InterruptedException {
+        // given
+        var release = new CountDownLatch(1);
+        List<List<Long>> batches = new CopyOnWriteArrayList<>();
+        var loader = new BatchLoader<Long, String>(keys -> {
+            batches.add(keys);
+            if (keys.contains(1L)) {
+                awaitUninterruptibly(release);
+            }
+            return Map.of(1L, "Товар №1", 2L, "Товар №2", 3L, "Товар №3");
+        }, 2);
+        Map<Long, String> results = new ConcurrentHashMap<>();
+
+        // when
+        var first = startLoad(loader, 1L, results);
+        awaitBatches(batches, 1);
+        var second = startLoad(loader, 2L, results);
+        awaitWaiting(second);
+        var third = startLoad(loader, 3L, results);
+        second.join(TimeUnit.SECONDS.toMillis(5));
+        third.join(TimeUnit.SECONDS.toMillis(5));
+
+        // then
+        assertEquals(Map.of(2L, "Товар №2", 3L, "Товар №3"), results);
+        assertEquals(List.of(List.of(1L), List.of(2L, 3L)), batches);
+
+        release.countDown();
+        first.join(TimeUnit.SECONDS.toMillis(5));
+        assertEquals("Товар №1", results.get(1L));
+    }
+
+    @Test
+    void load_BatchFunctionFails_ThrowsException() {
+        // given
+        var failure = new IllegalStateException("Сервис недоступен");
+        var loader = new BatchLoader<Long, String>(keys -> {
+            throw failure;
+        }, 100);
+
+        // when
+        var exception = assertThrows(IllegalStateException.class, () -> loader.load(1L));
+
+        // then
+        assertSame(failure, exception);
+    }
+
+    @Test
+    void new_MaxBatchSizeIsNotPositive_ThrowsIllegalArgumentException() {
+        // when
+        // then
+        assertThrows(IllegalArgumentException.class, () -> new BatchLoader<Long, String>(keys -> Map.of(), 0));
+    }
+
+    private static Thread startLoad(BatchLoader<Long, String> loader, Long key, Map<Long, String> results) {
+        return Thread.ofVirtual().start(() -> results.put(key, loader.load(key)));
+    }
+
+    private static void awaitBatches(List<List<Long>> batches, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batches.size() < count) {
+            assertTrue(System.nanoTime() < deadline, "Пакет не был отправлен");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "Поток не начал ожидание");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.artemfedorov2004.managerapp.client;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@WireMockTest
+class InstrumentedConnectionManagerTest {
+
+    @Test
+    void execute_RequestCompleted_RecordsLeaseTimeAndInFlightRequests(WireMockRuntimeInfo wireMockRuntimeInfo)
+            throws IOException {
+        // given
+        var meterRegistry = new SimpleMeterRegistry();
+        var connectionManager = new InstrumentedConnectionManager("online-store-service", meterRegistry);
+        WireMock.stubFor(WireMock.get("/online-store-api/products/1")
+                .willReturn(WireMock.ok("{\"id\": 1}")));
+
+        try (CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .build()) {
+            // when
+            ClassicHttpResponse response = httpClient.executeOpen(null,
+                    new HttpGet(wireMockRuntimeInfo.getHttpBaseUrl() + "/online-store-api/products/1"), null);
+
+            // then
+            assertEquals(1, connectionManager.getInFlightRequests());
+            assertEquals(1.0, meterRegistry.get("http.client.requests.in-flight")
+                    .tag("client", "online-store-service")
+                    .gauge().value());
+
+            EntityUtils.consume(response.getEntity());
+            response.close();
+
+            assertEquals(0, connectionManager.getInFlightRequests());
+            assertEquals(1, meterRegistry.get("http.client.connections.lease")
+                    .tag("client", "online-store-service")
+                    .timer().count());
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import java.math.BigDecimal;
 import java.util.List;
 
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -51,12 +52,15 @@ public class ProductsControllerIT {
         var requestBuilder = MockMvcRequestBuilders.get("/online-store/products/list")
                 .with(oidcLogin().oidcUser(this.oidcUser));
 
-        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products"))
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/online-store-api/products/page"))
                 .willReturn(WireMock.ok("""
-                        [
-                            {"id": 1, "title": "Product 1", "price": 100},
-                            {"id": 2, "title": "Product 2", "price": 200}
-                        ]""").withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+                        {
+                            "products": [
+                                {"id": 1, "title": "Product 1", "price": 100},
+                                {"id": 2, "title": "Product 2", "price": 200}
+                            ],
+                            "nextCursor": null
+                        }""").withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
 
         // when
         this.mockMvc.perform(requestBuilder)
@@ -69,10 +73,11 @@ public class ProductsControllerIT {
                                 new Product(1L, "Product 1", BigDecimal.valueOf(100)),
                                 new Product(2L, "Product 2", BigDecimal.valueOf(200))
                         )),
+                        model().attribute("nextCursor", nullValue()),
                         model().attribute("username", "andrey")
                 );
 
-        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products")));
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/online-store-api/products/page")));
     }
 
     @Test
@@ -4,6 +4,7 @@ import io.github.artemfedorov2004.managerapp.client.BadRequestException;
 import io.github.artemfedorov2004.managerapp.client.ProductsRestClient;
 import io.github.artemfedorov2004.managerapp.controller.payload.NewProductPayload;
 import io.github.artemfedorov2004.managerapp.entity.Product;
+import io.github.artemfedorov2004.managerapp.entity.ProductsPage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -62,14 +63,15 @@ class ProductsControllerTest {
                         BigDecimal.valueOf(i * 100)))
                 .toList();
 
-        doReturn(products).when(this.productsRestClient).getAllProducts();
+        doReturn(new ProductsPage(products, "next")).when(this.productsRestClient).getProductsPage(null, 20);
 
         // when
-        var result = this.controller.getProductsList(model);
+        var result = this.controller.getProductsList(null, model);
 
         // then
         assertEquals("online-store/products/list", result);
         assertEquals(products, model.getAttribute("products"));
+        assertEquals("next", model.getAttribute("nextCursor"));
     }
 
     @Test
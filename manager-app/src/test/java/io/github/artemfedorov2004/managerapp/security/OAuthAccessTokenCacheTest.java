@@ -0,0 +1,247 @@
+package io.github.artemfedorov2004.managerapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.client.ClientAuthorizationRequiredException;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OAuthAccessTokenCacheTest {
+
+    static final Instant NOW = Instant.parse("2025-06-01T10:00:00Z");
+
+    @Mock
+    OAuth2AuthorizedClientManager authorizedClientManager;
+
+    @Mock
+    OAuth2AuthorizedClientManager backgroundAuthorizedClientManager;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    TestingAuthenticationToken principal = new TestingAuthenticationToken("andrey", "password");
+
+    OAuthAccessTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        this.cache = new OAuthAccessTokenCache(this.backgroundAuthorizedClientManager, this.meterRegistry,
+                Duration.ofSeconds(30), 100, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void getAccessToken_TokenIsFresh_ReturnsCachedToken() {
+        // given
+        OAuth2AccessToken accessToken = accessToken("token", NOW.plus(Duration.ofMinutes(5)));
+        doReturn(authorizedClient(accessToken)).when(this.authorizedClientManager)
+                .authorize(argThat(request -> request.getClientRegistrationId().equals("keycloak") &&
+                        request.getPrincipal().equals(this.principal)));
+
+        // when
+        var first = this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+        var second = this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+
+        // then
+        assertSame(accessToken, first);
+        assertSame(accessToken, second);
+        assertEquals(1, this.meterRegistry.get("oauth2.token.refresh")
+                .tags("mode", "foreground", "result", "success")
+                .timer().count());
+
+        verify(this.authorizedClientManager).authorize(any());
+        verifyNoMoreInteractions(this.authorizedClientManager);
+        verifyNoInteractions(this.backgroundAuthorizedClientManager);
+    }
+
+    @Test
+    void getAccessToken_TokenExpiresSoon_ReturnsCachedTokenAndRefreshesItInBackground() throws InterruptedException {
+        // given
+        OAuth2AccessToken expiringToken = accessToken("expiring", NOW.plus(Duration.ofSeconds(10)));
+        OAuth2AccessToken refreshedToken = accessToken("refreshed", NOW.plus(Duration.ofMinutes(5)));
+        doReturn(authorizedClient(expiringToken)).when(this.authorizedClientManager).authorize(any());
+        doReturn(authorizedClient(refreshedToken)).when(this.backgroundAuthorizedClientManager).authorize(any());
+
+        // when
+        var first = this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+        var second = this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+
+        // then
+        assertSame(expiringToken, first);
+        assertSame(expiringToken, second);
+
+        verify(this.backgroundAuthorizedClientManager, timeout(5000)).authorize(argThat(request ->
+                request.getClientRegistrationId().equals("keycloak") && request.getPrincipal().equals(this.principal)));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        OAuth2AccessToken current = second;
+        while (current != refreshedToken && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            current = this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+        }
+        assertSame(refreshedToken, current);
+
+        verify(this.authorizedClientManager).authorize(any());
+        verifyNoMoreInteractions(this.authorizedClientManager);
+        verify(this.backgroundAuthorizedClientManager).authorize(any());
+        verifyNoMoreInteractions(this.backgroundAuthorizedClientManager);
+    }
+
+    @Test
+    void getAccessToken_ConcurrentCallersWithoutToken_AuthorizeOnce() {
+        // given
+        OAuth2AccessToken accessToken = accessToken("token", NOW.plus(Duration.ofMinutes(5)));
+        doAnswer(invocation -> {
+            Thread.sleep(Duration.ofMillis(300));
+            return authorizedClient(accessToken);
+        }).when(this.authorizedClientManager).authorize(any());
+
+        // when
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var first = CompletableFuture.supplyAsync(() ->
+                    this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager), executor);
+            var second = CompletableFuture.supplyAsync(() ->
+                    this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager), executor);
+
+            // then
+            assertSame(accessToken, first.join());
+            assertSame(accessToken, second.join());
+        }
+
+        verify(this.authorizedClientManager).authorize(any());
+        verifyNoMoreInteractions(this.authorizedClientManager);
+    }
+
+    @Test
+    void getAccessToken_ClientIsNotAuthorized_ThrowsClientAuthorizationRequiredException() {
+        // given
+        doReturn(null).when(this.authorizedClientManager).authorize(any());
+
+        // when
+        var exception = assertThrows(ClientAuthorizationRequiredException.class,
+                () -> this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager));
+
+        // then
+        assertEquals("keycloak", exception.getClientRegistrationId());
+        assertEquals(1, this.meterRegistry.get("oauth2.token.refresh")
+                .tags("mode", "foreground", "result", "failure")
+                .timer().count());
+    }
+
+    @Test
+    void getAccessToken_AuthorizationFailed_AuthorizesAgainOnNextCall() {
+        // given
+        OAuth2AccessToken accessToken = accessToken("token", NOW.plus(Duration.ofMinutes(5)));
+        doReturn(null)
+                .doReturn(authorizedClient(accessToken))
+                .when(this.authorizedClientManager).authorize(any());
+
+        // when
+        assertThrows(ClientAuthorizationRequiredException.class,
+                () -> this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager));
+        var result = this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+
+        // then
+        assertSame(accessToken, result);
+
+        verify(this.authorizedClientManager, times(2)).authorize(any());
+        verifyNoMoreInteractions(this.authorizedClientManager);
+    }
+
+    @Test
+    void getAccessToken_TokenIsAlreadyExpired_DoesNotCacheIt() {
+        // given
+        OAuth2AccessToken accessToken = accessToken("token", NOW);
+        doReturn(authorizedClient(accessToken)).when(this.authorizedClientManager).authorize(any());
+
+        // when
+        this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+        this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+
+        // then
+        verify(this.authorizedClientManager, times(2)).authorize(any());
+        verifyNoMoreInteractions(this.authorizedClientManager);
+    }
+
+    @Test
+    void getAccessToken_BackgroundRefreshFails_ReturnsCachedTokenWithoutRetryingUntilItExpires()
+            throws InterruptedException {
+        // given
+        OAuth2AccessToken expiringToken = accessToken("expiring", NOW.plus(Duration.ofSeconds(10)));
+        doReturn(authorizedClient(expiringToken)).when(this.authorizedClientManager).authorize(any());
+        doThrow(new ClientAuthorizationRequiredException("keycloak"))
+                .when(this.backgroundAuthorizedClientManager).authorize(any());
+
+        // when
+        var first = this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (this.meterRegistry.find("oauth2.token.refresh").tags("mode", "background", "result", "failure")
+                .timer() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        var second = this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+        var third = this.cache.getAccessToken("keycloak", this.principal, this.authorizedClientManager);
+
+        // then
+        assertSame(expiringToken, first);
+        assertSame(expiringToken, second);
+        assertSame(expiringToken, third);
+
+        verify(this.backgroundAuthorizedClientManager, after(200)).authorize(any());
+        verifyNoMoreInteractions(this.backgroundAuthorizedClientManager);
+        verify(this.authorizedClientManager).authorize(any());
+        verifyNoMoreInteractions(this.authorizedClientManager);
+    }
+
+    @Test
+    void getAccessToken_CacheIsFull_EvictsTokens() throws InterruptedException {
+        // given
+        var meterRegistry = new SimpleMeterRegistry();
+        this.cache = new OAuthAccessTokenCache(this.backgroundAuthorizedClientManager, meterRegistry,
+                Duration.ofSeconds(30), 1, Clock.fixed(NOW, ZoneOffset.UTC));
+        OAuth2AccessToken accessToken = accessToken("token", NOW.plus(Duration.ofMinutes(5)));
+        doReturn(authorizedClient(accessToken)).when(this.authorizedClientManager).authorize(any());
+
+        // when
+        for (String username : List.of("andrey", "ivan", "olga")) {
+            this.cache.getAccessToken("keycloak", new TestingAuthenticationToken(username, "password"),
+                    this.authorizedClientManager);
+        }
+
+        // then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        double size = Double.MAX_VALUE;
+        while (size > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            size = meterRegistry.get("cache.size").tag("cache", "oauth2-tokens").gauge().value();
+        }
+        assertEquals(1, size);
+    }
+
+    static OAuth2AccessToken accessToken(String value, Instant expiresAt) {
+        return new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, value, NOW.minus(Duration.ofMinutes(1)),
+                expiresAt);
+    }
+
+    static OAuth2AuthorizedClient authorizedClient(OAuth2AccessToken accessToken) {
+        return new OAuth2AuthorizedClient(mock(), "andrey", accessToken);
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.artemfedorov2004.managerapp.security;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,12 +19,15 @@ import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,11 +36,16 @@ class OAuthClientHttpRequestInterceptorTest {
     @Mock
     OAuth2AuthorizedClientManager authorizedClientManager;
 
+    @Mock
+    OAuth2AuthorizedClientManager backgroundAuthorizedClientManager;
+
     OAuthClientHttpRequestInterceptor interceptor;
 
     @BeforeEach
     void setUp() {
-        this.interceptor = new OAuthClientHttpRequestInterceptor(this.authorizedClientManager, "test");
+        this.interceptor = new OAuthClientHttpRequestInterceptor(this.authorizedClientManager, "test",
+                new OAuthAccessTokenCache(this.backgroundAuthorizedClientManager, new SimpleMeterRegistry(),
+                        Duration.ofSeconds(30), 100));
     }
 
     @Test
@@ -92,4 +101,32 @@ class OAuthClientHttpRequestInterceptorTest {
         verify(execution).execute(request, body);
         verifyNoMoreInteractions(execution);
     }
-}
\ No newline at end of file
+
+    @Test
+    void intercept_AccessTokenIsCached_DoesNotAuthorizeAgain() throws IOException {
+        // given
+        byte[] body = new byte[0];
+        var execution = mock(ClientHttpRequestExecution.class);
+        var authentication = new TestingAuthenticationToken("andrey", "password");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        var authorizedClient = new OAuth2AuthorizedClient(mock(), "andrey",
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token", Instant.now(), Instant.MAX));
+        doReturn(authorizedClient).when(this.authorizedClientManager).authorize(any());
+        doReturn(new MockClientHttpResponse()).when(execution).execute(any(), eq(body));
+
+        // when
+        var firstRequest = new MockClientHttpRequest();
+        this.interceptor.intercept(firstRequest, body, execution);
+        var secondRequest = new MockClientHttpRequest();
+        this.interceptor.intercept(secondRequest, body, execution);
+
+        // then
+        assertEquals("Bearer token", firstRequest.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        assertEquals("Bearer token", secondRequest.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+
+        verify(this.authorizedClientManager).authorize(any());
+        verifyNoMoreInteractions(this.authorizedClientManager);
+        verifyNoInteractions(this.backgroundAuthorizedClientManager);
+    }
+}
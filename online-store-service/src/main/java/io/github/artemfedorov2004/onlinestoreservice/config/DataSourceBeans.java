@@ -0,0 +1,140 @@
+package io.github.artemfedorov2004.onlinestoreservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.DataSourceWorkload;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.ReplicaRoutingDataSource;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.Workload;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.WorkloadInterceptor;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.WorkloadRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class DataSourceBeans {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor dataSourceWorkloadAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, DataSourceWorkload.class, true), new WorkloadInterceptor());
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return pool(properties, "primary", 10, Duration.ofSeconds(30));
+    }
+
+    @Bean
+    @ConfigurationProperties("online-store.datasource.pools.catalog-reads")
+    public HikariDataSource catalogReadsDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = pool(properties, "catalog-reads", 10, Duration.ofSeconds(2));
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("online-store.datasource.pools.bulk-reads")
+    public HikariDataSource bulkReadsDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = pool(properties, "bulk-reads", 3, Duration.ofSeconds(5));
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("online-store.datasource.pools.review-writes")
+    public HikariDataSource reviewWritesDataSource(DataSourceProperties properties) {
+        return pool(properties, "review-writes", 5, Duration.ofSeconds(5));
+    }
+
+    @Bean
+    @ConfigurationProperties("online-store.datasource.pools.identity-sync")
+    public HikariDataSource identitySyncDataSource(DataSourceProperties properties) {
+        return pool(properties, "identity-sync", 3, Duration.ofSeconds(2));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "online-store.datasource.replica-urls")
+    public ReplicaRoutingDataSource replicaDataSource(
+            HikariDataSource catalogReadsDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${online-store.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${online-store.datasource.max-replication-lag:PT5S}") Duration maxReplicationLag,
+            @Value("${online-store.datasource.replication-lag-check-interval:PT1S}") Duration checkInterval) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls.get(i))
+                    .build();
+            replica.setPoolName("replica-%d".formatted(i + 1));
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(catalogReadsDataSource.getMaximumPoolSize());
+            replica.setConnectionTimeout(catalogReadsDataSource.getConnectionTimeout());
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        return new ReplicaRoutingDataSource(catalogReadsDataSource, replicas, maxReplicationLag, checkInterval,
+                meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(HikariDataSource primaryDataSource,
+                                                    HikariDataSource catalogReadsDataSource,
+                                                    HikariDataSource bulkReadsDataSource,
+                                                    HikariDataSource reviewWritesDataSource,
+                                                    HikariDataSource identitySyncDataSource,
+                                                    ObjectProvider<ReplicaRoutingDataSource> replicaDataSource) {
+        WorkloadRoutingDataSource writeDataSource = new WorkloadRoutingDataSource(primaryDataSource, Map.of(
+                Workload.REVIEW_WRITES, reviewWritesDataSource,
+                Workload.IDENTITY_SYNC, identitySyncDataSource));
+        writeDataSource.afterPropertiesSet();
+
+        DataSource readsDataSource = replicaDataSource.getIfAvailable(() -> catalogReadsDataSource);
+        WorkloadRoutingDataSource readOnlyDataSource = new WorkloadRoutingDataSource(readsDataSource, Map.of(
+                Workload.CACHE_FILLS, catalogReadsDataSource,
+                Workload.BULK_READS, bulkReadsDataSource));
+        readOnlyDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String name, int maximumPoolSize,
+                                         Duration connectionTimeout) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+        return dataSource;
+    }
+}
@@ -26,6 +26,8 @@ public class SecurityBeans {
                         .requestMatchers(HttpMethod.GET, "/online-store-api/products/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/online-store-api/products")
                         .hasAuthority("SCOPE_edit_products")
+                        .requestMatchers(HttpMethod.POST, "/online-store-api/products/import")
+                        .hasAuthority("SCOPE_edit_products")
                         .requestMatchers(HttpMethod.PATCH, "/online-store-api/products/{productId:\\d+}")
                         .hasAuthority("SCOPE_edit_products")
                         .requestMatchers(HttpMethod.DELETE, "/online-store-api/products/{productId:\\d+}")
@@ -36,6 +38,8 @@ public class SecurityBeans {
                         .hasAuthority("SCOPE_create_product_review")
                         .requestMatchers(HttpMethod.DELETE, "/online-store-api/products/{productId:\\d+}/reviews")
                         .hasAuthority("SCOPE_create_product_review")
+                        .requestMatchers(HttpMethod.GET, "/online-store-api/reviews/export")
+                        .hasAuthority("SCOPE_edit_products")
                         .requestMatchers("/actuator/**").hasAuthority("SCOPE_metrics")
                         .anyRequest().denyAll())
                 .csrf(CsrfConfigurer::disable)
@@ -0,0 +1,18 @@
+package io.github.artemfedorov2004.onlinestoreservice.config;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import io.github.artemfedorov2004.onlinestoreservice.service.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class SingleFlightBeans {
+
+    @Bean
+    public SingleFlight<Long, List<Review>> productReviewsSingleFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("product-reviews", meterRegistry);
+    }
+}
@@ -1,7 +1,9 @@
 package io.github.artemfedorov2004.onlinestoreservice.controller;
 
+import io.github.artemfedorov2004.onlinestoreservice.exception.InvalidCursorException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +11,7 @@ import org.springframework.validation.BindException;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.Locale;
 
@@ -32,4 +35,29 @@ public class BadRequestControllerAdvice {
         return ResponseEntity.badRequest()
                 .body(problemDetail);
     }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ProblemDetail> handleHandlerMethodValidationException(
+            HandlerMethodValidationException exception, Locale locale) {
+        ProblemDetail problemDetail = ProblemDetail
+                .forStatusAndDetail(HttpStatus.BAD_REQUEST,
+                        this.messageSource.getMessage("errors.400.title", new Object[0],
+                                "errors.400.title", locale));
+        problemDetail.setProperty("errors",
+                exception.getAllErrors().stream()
+                        .map(MessageSourceResolvable::getDefaultMessage)
+                        .toList());
+
+        return ResponseEntity.badRequest()
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursorException(InvalidCursorException exception,
+                                                                      Locale locale) {
+        return ResponseEntity.badRequest()
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
+                        this.messageSource.getMessage(exception.getMessage(), new Object[0],
+                                exception.getMessage(), locale)));
+    }
 }
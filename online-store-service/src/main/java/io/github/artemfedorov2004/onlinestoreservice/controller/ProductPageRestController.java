@@ -0,0 +1,58 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.KeysetCursor;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ProductPagePayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ReviewsPagePayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.mapper.ProductMapper;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.mapper.ReviewMapper;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductPage;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductPageService;
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewSort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("online-store-api/products/{productId:\\d+}/page")
+public class ProductPageRestController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductPageService productPageService;
+
+    private final ProductMapper productMapper;
+
+    private final ReviewMapper reviewMapper;
+
+    @GetMapping
+    public ProductPagePayload getProductPage(
+            @PathVariable("productId") Long productId,
+            @RequestParam(name = "sort", defaultValue = "NEWEST") ReviewSort sort,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        ScrollPosition position = cursor == null
+                ? ScrollPosition.keyset()
+                : sort.toScrollPosition(KeysetCursor.decode(cursor).keys());
+
+        ProductPage page = this.productPageService.getProductPage(productId, sort, position,
+                Math.clamp(size, 1, MAX_PAGE_SIZE));
+
+        Window<Review> reviews = page.reviews();
+        String nextCursor = reviews.hasNext()
+                ? KeysetCursor.of((KeysetScrollPosition) reviews.positionAt(reviews.size() - 1)).encode()
+                : null;
+        return new ProductPagePayload(
+                this.productMapper.toPayload(page.product(), page.ratingStats()),
+                new ReviewsPagePayload(reviews.getContent().stream()
+                        .map(this.reviewMapper::toPayload)
+                        .toList(), nextCursor));
+    }
+}
@@ -1,9 +1,21 @@
 package io.github.artemfedorov2004.onlinestoreservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.KeysetCursor;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.NewProductPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ProductPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ProductRatingPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ProductsPagePayload;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.UpdateProductPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.mapper.ProductMapper;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductImportFormat;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductImportReport;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductImportService;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductRatingStatsService;
 import io.github.artemfedorov2004.onlinestoreservice.service.ProductService;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductSort;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.StringToClassMapItem;
 import io.swagger.v3.oas.annotations.headers.Header;
@@ -13,32 +25,151 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("online-store-api/products")
 public class ProductsRestController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private final ProductService productService;
 
+    private final ProductRatingStatsService productRatingStatsService;
+
+    private final ProductImportService productImportService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ProductMapper productMapper;
+
+    private final ResponseBodyCache responseBodyCache;
+
     @GetMapping
     public Iterable<Product> getAllProducts() {
         return this.productService.getAllProducts();
     }
 
+    @GetMapping(params = "ids")
+    public List<Product> getProductsByIds(
+            @RequestParam("ids")
+            @Size(max = MAX_PAGE_SIZE, message = "{online_store_service.products.errors.ids_size_is_invalid}")
+            List<Long> productIds) {
+        return this.productService.getProductsByIds(productIds);
+    }
+
+    @GetMapping("page")
+    public ProductsPagePayload getProductsPage(
+            @RequestParam(name = "sort", defaultValue = "ID") ProductSort sort,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        ScrollPosition position = cursor == null
+                ? ScrollPosition.keyset()
+                : sort.toScrollPosition(KeysetCursor.decode(cursor).keys());
+
+        Window<Product> window = this.productService.getProducts(sort, position, Math.clamp(size, 1, MAX_PAGE_SIZE));
+
+        String nextCursor = window.hasNext()
+                ? KeysetCursor.of((KeysetScrollPosition) window.positionAt(window.size() - 1)).encode()
+                : null;
+        return new ProductsPagePayload(window.getContent(), nextCursor);
+    }
+
+    @GetMapping(path = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(outputStream -> {
+            if (gzip) {
+                try (var gzipOutputStream = new GZIPOutputStream(outputStream, true)) {
+                    this.writeProducts(gzipOutputStream);
+                }
+            } else {
+                this.writeProducts(outputStream);
+            }
+        });
+    }
+
+    private void writeProducts(OutputStream outputStream) throws IOException {
+        AtomicLong written = new AtomicLong();
+        try (JsonGenerator generator = this.objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            this.productService.forEachProduct(product -> {
+                try {
+                    generator.writeObject(product);
+                    generator.writeRaw('\n');
+                    if (written.getAndIncrement() % EXPORT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    @GetMapping("ratings")
+    public List<ProductRatingPayload> getProductsRatings(
+            @RequestParam("ids")
+            @Size(max = MAX_PAGE_SIZE, message = "{online_store_service.products.ratings.errors.ids_size_is_invalid}")
+            List<Long> productIds) {
+        return this.productMapper.toPayload(
+                this.productRatingStatsService.getProductsRatingStats(productIds));
+    }
+
     @GetMapping("/{productId:\\d+}")
-    public Product getProduct(@PathVariable("productId") long productId) {
-        return this.productService.getProduct(productId);
+    @Operation(responses = @ApiResponse(
+            responseCode = "200",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ProductPayload.class))))
+    public ResponseEntity<byte[]> getProduct(
+            @PathVariable("productId") long productId,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return this.responseBodyCache.respond(ResponseBodyCache.Key.product(productId), acceptEncoding, () -> {
+            Product product = this.productService.getProduct(productId);
+            return this.productMapper.toPayload(product,
+                    this.productRatingStatsService.getProductRatingStats(productId));
+        });
     }
 
     @PostMapping
@@ -116,6 +247,24 @@ public class ProductsRestController {
         }
     }
 
+    @PostMapping(path = "import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @Operation(
+            security = @SecurityRequirement(name = "keycloak"),
+            summary = "Import products from NDJSON or CSV",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Products imported, rejected rows are reported"
+                    )
+            })
+    public ProductImportReport importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              InputStream body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body,
+                contentType.getCharset() == null ? StandardCharsets.UTF_8 : contentType.getCharset()))) {
+            return this.productImportService.importProducts(ProductImportFormat.of(contentType), reader);
+        }
+    }
+
     @PatchMapping("/{productId:\\d+}")
     @Operation(
             summary = "Update product",
@@ -0,0 +1,131 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.DataSourceWorkload;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.Workload;
+import io.github.artemfedorov2004.onlinestoreservice.service.ChangeNotificationsResetEvent;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductChangedEvent;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductReviewsChangedEvent;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductsImportedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class ResponseBodyCache {
+
+    private final Cache<Key, Body> cache;
+
+    private final ObjectMapper objectMapper;
+
+    private final int gzipMinSize;
+
+    public ResponseBodyCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${online-store.response-cache.maximum-bytes:67108864}") long maximumBytes,
+            @Value("${online-store.response-cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+            @Value("${online-store.response-cache.gzip-min-size:1024}") int gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = gzipMinSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Key key, Body body) -> body.size())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "responses");
+    }
+
+    @DataSourceWorkload(Workload.CACHE_FILLS)
+    public ResponseEntity<byte[]> respond(Key key, @Nullable String acceptEncoding, Supplier<?> payload) {
+        Body body = this.cache.get(key, ignored -> this.serialize(payload.get()));
+
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.gzip() != null && AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(body.gzip());
+        }
+
+        return response.body(body.json());
+    }
+
+    private Body serialize(Object payload) {
+        try {
+            byte[] json = this.objectMapper.writeValueAsBytes(payload);
+            return new Body(json, json.length >= this.gzipMinSize ? gzip(json) : null);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        var compressed = new ByteArrayOutputStream(json.length / 4);
+        try (var gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(json);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return compressed.toByteArray();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        this.cache.invalidate(Key.product(event.productId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onProductReviewsChanged(ProductReviewsChangedEvent event) {
+        this.cache.invalidate(Key.product(event.productId()));
+        this.cache.invalidate(Key.productReviews(event.productId()));
+    }
+
+    @EventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        this.cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onChangeNotificationsReset(ChangeNotificationsResetEvent event) {
+        this.cache.invalidateAll();
+    }
+
+    public record Key(String resource, long productId) {
+
+        public static Key product(long productId) {
+            return new Key("product", productId);
+        }
+
+        public static Key productReviews(long productId) {
+            return new Key("product-reviews", productId);
+        }
+    }
+
+    private record Body(byte[] json, @Nullable byte[] gzip) {
+
+        int size() {
+            return this.json.length + (this.gzip == null ? 0 : this.gzip.length);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("online-store-api/reviews")
+public class ReviewsExportRestController {
+
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv;charset=UTF-8");
+
+    private final ReviewExportService reviewExportService;
+
+    @GetMapping(path = "export", produces = "text/csv")
+    @Operation(
+            security = @SecurityRequirement(name = "keycloak"),
+            summary = "Export reviews as CSV",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Reviews of the given products created in [from, to)"
+                    )
+            })
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @RequestParam(name = "productIds", required = false) List<Long> productIds,
+            @RequestParam(name = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("reviews.csv")
+                        .build()
+                        .toString())
+                .body(outputStream -> this.reviewExportService.exportReviews(productIds, from, to, outputStream));
+    }
+}
@@ -1,13 +1,20 @@
 package io.github.artemfedorov2004.onlinestoreservice.controller;
 
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.AcceptedReviewPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.KeysetCursor;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.NewReviewPayload;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ReviewPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ReviewSubmissionPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ReviewsPagePayload;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.mapper.ReviewMapper;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
 import io.github.artemfedorov2004.onlinestoreservice.service.ReviewService;
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewSort;
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewSubmission;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.StringToClassMapItem;
 import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,6 +22,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -24,19 +35,64 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("online-store-api/products/{productId:\\d+}/reviews")
 public class ReviewsRestController {
 
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ReviewService reviewService;
 
     private final ReviewMapper reviewMapper;
 
+    private final ResponseBodyCache responseBodyCache;
+
     @GetMapping
-    public Iterable<ReviewPayload> getAllProductReviews(@PathVariable("productId") Long productId) {
-        return this.reviewMapper.toPayload(this.reviewService.getAllProductReviews(productId));
+    @Operation(responses = @ApiResponse(
+            responseCode = "200",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = ReviewPayload.class)))))
+    public ResponseEntity<byte[]> getAllProductReviews(
+            @PathVariable("productId") Long productId,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return this.responseBodyCache.respond(ResponseBodyCache.Key.productReviews(productId), acceptEncoding,
+                () -> this.reviewService.getAllProductReviews(productId).stream()
+                        .map(this.reviewMapper::toPayload)
+                        .toList());
+    }
+
+    @GetMapping("page")
+    public ReviewsPagePayload getProductReviewsPage(
+            @PathVariable("productId") Long productId,
+            @RequestParam(name = "sort", defaultValue = "NEWEST") ReviewSort sort,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        ScrollPosition position = cursor == null
+                ? ScrollPosition.keyset()
+                : sort.toScrollPosition(KeysetCursor.decode(cursor).keys());
+
+        Window<Review> window = this.reviewService.getProductReviews(productId, sort, position,
+                Math.clamp(size, 1, MAX_PAGE_SIZE));
+
+        String nextCursor = window.hasNext()
+                ? KeysetCursor.of((KeysetScrollPosition) window.positionAt(window.size() - 1)).encode()
+                : null;
+        return new ReviewsPagePayload(window.getContent().stream()
+                .map(this.reviewMapper::toPayload)
+                .toList(), nextCursor);
+    }
+
+    @GetMapping("submissions/{trackingId}")
+    public ReviewSubmissionPayload getReviewSubmission(@PathVariable("productId") Long productId,
+                                                       @PathVariable("trackingId") UUID trackingId) {
+        ReviewSubmission submission = this.reviewService.getReviewSubmission(productId, trackingId);
+        return new ReviewSubmissionPayload(submission.trackingId(), submission.status(), submission.reviewId());
     }
 
     @PostMapping
@@ -77,10 +133,20 @@ public class ReviewsRestController {
                                     )
                             }
                     ),
+                    @ApiResponse(
+                            responseCode = "202",
+                            description = "Review accepted for asynchronous creation (Prefer: respond-async), "
+                                    + "its status is available at the Location header"
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Review queue is full, retry after the Retry-After delay"
+                    )
             })
     public ResponseEntity<?> createReview(@Valid @RequestBody NewReviewPayload payload,
                                           @PathVariable("productId") Long productId,
                                           BindingResult bindingResult,
+                                          @RequestHeader(name = "Prefer", required = false) String prefer,
                                           UriComponentsBuilder uriComponentsBuilder)
             throws BindException {
         if (bindingResult.hasErrors()) {
@@ -89,6 +155,15 @@ public class ReviewsRestController {
             } else {
                 throw new BindException(bindingResult);
             }
+        } else if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+            UUID trackingId = this.reviewService.submitReview(productId, this.reviewMapper.fromPayload(payload));
+
+            return ResponseEntity.accepted()
+                    .location(uriComponentsBuilder
+                            .replacePath("/online-store-api/products/{productId}/reviews/submissions/{trackingId}")
+                            .build(Map.of("productId", productId, "trackingId", trackingId)))
+                    .header("Preference-Applied", RESPOND_ASYNC)
+                    .body(new AcceptedReviewPayload(trackingId));
         } else {
             Review review = this.reviewMapper.fromPayload(payload);
             Review createdReview = this.reviewService.createReview(productId, review);
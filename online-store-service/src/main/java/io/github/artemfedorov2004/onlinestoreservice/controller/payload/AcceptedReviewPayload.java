@@ -0,0 +1,6 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller.payload;
+
+import java.util.UUID;
+
+public record AcceptedReviewPayload(UUID trackingId) {
+}
@@ -0,0 +1,48 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller.payload;
+
+import io.github.artemfedorov2004.onlinestoreservice.exception.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public record KeysetCursor(Map<String, String> keys) {
+
+    public static KeysetCursor of(KeysetScrollPosition position) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        position.getKeys().forEach((key, value) -> keys.put(key, String.valueOf(value)));
+        return new KeysetCursor(keys);
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, String> keys = new LinkedHashMap<>();
+            for (String pair : decoded.split("&")) {
+                String[] keyAndValue = pair.split("=", 2);
+                if (keyAndValue.length != 2) {
+                    throw new InvalidCursorException("online_store_service.errors.cursor.invalid");
+                }
+                keys.put(URLDecoder.decode(keyAndValue[0], StandardCharsets.UTF_8),
+                        URLDecoder.decode(keyAndValue[1], StandardCharsets.UTF_8));
+            }
+            return new KeysetCursor(keys);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException("online_store_service.errors.cursor.invalid", exception);
+        }
+    }
+
+    public String encode() {
+        String encoded = this.keys.entrySet().stream()
+                .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "=" +
+                        URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(encoded.getBytes(StandardCharsets.UTF_8));
+    }
+}
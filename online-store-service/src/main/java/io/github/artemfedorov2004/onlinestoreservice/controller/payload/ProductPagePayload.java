@@ -0,0 +1,7 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller.payload;
+
+public record ProductPagePayload(
+        ProductPayload product,
+        ReviewsPagePayload reviews
+) {
+}
@@ -0,0 +1,11 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller.payload;
+
+import java.math.BigDecimal;
+
+public record ProductPayload(
+        Long id,
+        String title,
+        BigDecimal price,
+        ProductRatingPayload rating
+) {
+}
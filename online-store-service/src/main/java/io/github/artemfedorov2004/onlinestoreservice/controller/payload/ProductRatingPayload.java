@@ -0,0 +1,12 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller.payload;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public record ProductRatingPayload(
+        Long productId,
+        long count,
+        BigDecimal average,
+        Map<Integer, Long> histogram
+) {
+}
@@ -0,0 +1,11 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller.payload;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+
+import java.util.List;
+
+public record ProductsPagePayload(
+        List<Product> products,
+        String nextCursor
+) {
+}
@@ -0,0 +1,8 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller.payload;
+
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewSubmissionStatus;
+
+import java.util.UUID;
+
+public record ReviewSubmissionPayload(UUID trackingId, ReviewSubmissionStatus status, Long reviewId) {
+}
@@ -0,0 +1,9 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller.payload;
+
+import java.util.List;
+
+public record ReviewsPagePayload(
+        List<ReviewPayload> reviews,
+        String nextCursor
+) {
+}
@@ -0,0 +1,47 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller.payload.mapper;
+
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ProductPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ProductRatingPayload;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Mapper(componentModel = "spring")
+public abstract class ProductMapper {
+
+    @Mapping(target = "id", source = "product.id")
+    @Mapping(target = "rating", source = "stats")
+    public abstract ProductPayload toPayload(Product product, ProductRatingStats stats);
+
+    @Mapping(target = "average", expression = "java(average(stats))")
+    @Mapping(target = "histogram", expression = "java(histogram(stats))")
+    public abstract ProductRatingPayload toPayload(ProductRatingStats stats);
+
+    public abstract List<ProductRatingPayload> toPayload(List<ProductRatingStats> stats);
+
+    protected BigDecimal average(ProductRatingStats stats) {
+        if (stats.getCount() == 0) {
+            return null;
+        }
+
+        return BigDecimal.valueOf(stats.getSum())
+                .divide(BigDecimal.valueOf(stats.getCount()), 2, RoundingMode.HALF_UP);
+    }
+
+    protected Map<Integer, Long> histogram(ProductRatingStats stats) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, stats.getRating1());
+        histogram.put(2, stats.getRating2());
+        histogram.put(3, stats.getRating3());
+        histogram.put(4, stats.getRating4());
+        histogram.put(5, stats.getRating5());
+        return histogram;
+    }
+}
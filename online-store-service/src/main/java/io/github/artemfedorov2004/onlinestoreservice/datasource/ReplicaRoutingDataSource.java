@@ -0,0 +1,137 @@
+package io.github.artemfedorov2004.onlinestoreservice.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements SmartLifecycle, AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final String REPLICATION_LAG_QUERY = """
+            select case
+                       when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                       else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                   end
+            """;
+
+    private final Map<String, DataSource> replicas;
+
+    private final Map<String, Duration> replicationLags = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> routingCounters = new HashMap<>();
+
+    private final List<String> replicaNames;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Duration maxReplicationLag;
+
+    private final Duration checkInterval;
+
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration maxReplicationLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.maxReplicationLag = maxReplicationLag;
+        this.checkInterval = checkInterval;
+
+        Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+        targetDataSources.put(PRIMARY, primary);
+        this.setTargetDataSources(targetDataSources);
+        this.setDefaultTargetDataSource(primary);
+
+        this.routingCounters.put(PRIMARY, Counter.builder("datasource.routing")
+                .tag("target", PRIMARY)
+                .register(meterRegistry));
+        for (String name : this.replicaNames) {
+            this.routingCounters.put(name, Counter.builder("datasource.routing")
+                    .tag("target", name)
+                    .register(meterRegistry));
+            Gauge.builder("datasource.replica.lag", this.replicationLags,
+                            lags -> lags.containsKey(name) ? lags.get(name).toMillis() / 1000.0 : Double.NaN)
+                    .tag("pool", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> available = this.replicaNames.stream()
+                .filter(this::isAvailable)
+                .toList();
+
+        String target = available.isEmpty()
+                ? PRIMARY
+                : available.get(Math.floorMod(this.nextReplica.getAndIncrement(), available.size()));
+        this.routingCounters.get(target).increment();
+        return target;
+    }
+
+    private boolean isAvailable(String replica) {
+        Duration lag = this.replicationLags.get(replica);
+        return lag != null && lag.compareTo(this.maxReplicationLag) <= 0;
+    }
+
+    void checkReplicationLag() {
+        this.replicas.forEach((name, replica) -> {
+            try {
+                Double seconds = new JdbcTemplate(replica).queryForObject(REPLICATION_LAG_QUERY, Double.class);
+                this.replicationLags.put(name, Duration.ofMillis(Math.round(seconds * 1000)));
+            } catch (RuntimeException exception) {
+                log.warn("Replica {} is unavailable, reads fall back to the primary", name, exception);
+                this.replicationLags.remove(name);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        this.checkReplicationLag();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-lag-monitor")
+                .daemon()
+                .factory());
+        this.scheduler.scheduleWithFixedDelay(this::checkReplicationLag, this.checkInterval.toMillis(),
+                this.checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        this.scheduler.shutdownNow();
+        this.scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.scheduler != null;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : this.replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
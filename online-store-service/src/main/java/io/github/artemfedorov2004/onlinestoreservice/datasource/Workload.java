@@ -0,0 +1,9 @@
+package io.github.artemfedorov2004.onlinestoreservice.datasource;
+
+public enum Workload {
+
+    REVIEW_WRITES,
+    IDENTITY_SYNC,
+    CACHE_FILLS,
+    BULK_READS
+}
@@ -0,0 +1,41 @@
+package io.github.artemfedorov2004.onlinestoreservice.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Method;
+
+public class WorkloadInterceptor implements MethodInterceptor {
+
+    private static final ThreadLocal<Workload> CURRENT_WORKLOAD = new ThreadLocal<>();
+
+    @Nullable
+    public static Workload currentWorkload() {
+        return CURRENT_WORKLOAD.get();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        DataSourceWorkload annotation = AnnotatedElementUtils.findMergedAnnotation(method, DataSourceWorkload.class);
+        if (annotation == null) {
+            return invocation.proceed();
+        }
+
+        Workload previous = CURRENT_WORKLOAD.get();
+        CURRENT_WORKLOAD.set(annotation.value());
+        try {
+            return invocation.proceed();
+        } finally {
+            if (previous == null) {
+                CURRENT_WORKLOAD.remove();
+            } else {
+                CURRENT_WORKLOAD.set(previous);
+            }
+        }
+    }
+}
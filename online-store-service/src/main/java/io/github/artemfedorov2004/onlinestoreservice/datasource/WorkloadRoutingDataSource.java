@@ -0,0 +1,21 @@
+package io.github.artemfedorov2004.onlinestoreservice.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(DataSource defaultDataSource, Map<Workload, DataSource> workloadDataSources) {
+        this.setTargetDataSources(new HashMap<>(workloadDataSources));
+        this.setDefaultTargetDataSource(defaultDataSource);
+        this.setLenientFallback(true);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadInterceptor.currentWorkload();
+    }
+}
@@ -15,7 +15,8 @@ import java.math.BigDecimal;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "t_product_id_seq")
+    @SequenceGenerator(name = "t_product_id_seq", schema = "online_store", sequenceName = "t_product_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "c_title")
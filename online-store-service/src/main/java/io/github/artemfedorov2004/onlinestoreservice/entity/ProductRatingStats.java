@@ -0,0 +1,39 @@
+package io.github.artemfedorov2004.onlinestoreservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@Table(schema = "online_store", name = "t_product_rating_stats")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRatingStats {
+
+    @Id
+    @Column(name = "id_product")
+    private Long productId;
+
+    @Column(name = "c_count")
+    private long count;
+
+    @Column(name = "c_sum")
+    private long sum;
+
+    @Column(name = "c_rating_1")
+    private long rating1;
+
+    @Column(name = "c_rating_2")
+    private long rating2;
+
+    @Column(name = "c_rating_3")
+    private long rating3;
+
+    @Column(name = "c_rating_4")
+    private long rating4;
+
+    @Column(name = "c_rating_5")
+    private long rating5;
+}
@@ -17,36 +17,19 @@ import java.time.LocalDateTime;
 public class Review {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "t_review_id_seq")
+    @SequenceGenerator(name = "t_review_id_seq", schema = "online_store", sequenceName = "t_review_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "c_rating")
     private Integer rating;
 
     @ManyToOne
-    @JoinTable(
-            name = "t_product_review",
-            schema = "online_store",
-            joinColumns = @JoinColumn(
-                    name = "id_review"
-            ),
-            inverseJoinColumns = @JoinColumn(
-                    name = "id_product"
-            )
-    )
+    @JoinColumn(name = "id_product")
     private Product forProduct;
 
     @ManyToOne
-    @JoinTable(
-            name = "t_customer_review",
-            schema = "online_store",
-            joinColumns = @JoinColumn(
-                    name = "id_review"
-            ),
-            inverseJoinColumns = @JoinColumn(
-                    name = "id_customer"
-            )
-    )
+    @JoinColumn(name = "id_customer")
     private Customer createdBy;
 
     @Column(name = "c_created_at")
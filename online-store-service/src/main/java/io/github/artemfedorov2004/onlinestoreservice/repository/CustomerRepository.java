@@ -2,7 +2,6 @@ package io.github.artemfedorov2004.onlinestoreservice.repository;
 
 import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
@@ -10,16 +9,35 @@ import java.util.UUID;
 
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
 
-    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query(value = """
-            insert into online_store.t_customer_oidcuser
-            values (:id, :oidcUserId)
+            with existing as (
+                select id_customer from online_store.t_customer_oidcuser
+                where id_oidcuser = :oidcUserId
+            ), renamed as (
+                update online_store.t_customer c set c_username = :username
+                from existing e
+                where c.id = e.id_customer and c.c_username is distinct from :username
+            ), created as (
+                insert into online_store.t_customer (c_username)
+                select :username where not exists (select 1 from existing)
+                on conflict (c_username) do nothing
+                returning id
+            ), linked as (
+                insert into online_store.t_customer_oidcuser (id_customer, id_oidcuser)
+                select id, :oidcUserId from created
+                on conflict (id_oidcuser) do nothing
+                returning id_customer
+            )
+            select id_customer from existing
+            union all
+            select id_customer from linked
             """, nativeQuery = true)
-    void linkCustomerIdAndOidcUserId(UUID id, UUID oidcUserId);
+    Optional<UUID> upsertCustomerAndOidcUser(UUID oidcUserId, String username);
 
     @Query(value = """
-            select id_customer from online_store.t_customer_oidcuser 
-                               where id_oidcuser=:oidcUserId;
+            select c.* from online_store.t_customer c
+                     join online_store.t_customer_oidcuser co on co.id_customer = c.id
+            where co.id_oidcuser = :oidcUserId
             """, nativeQuery = true)
-    Optional<UUID> findCustomerIdByOidcUserId(UUID oidcUserId);
+    Optional<Customer> findByOidcUserId(UUID oidcUserId);
 }
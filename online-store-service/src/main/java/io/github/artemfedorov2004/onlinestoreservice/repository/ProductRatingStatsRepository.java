@@ -0,0 +1,26 @@
+package io.github.artemfedorov2004.onlinestoreservice.repository;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ProductRatingStatsRepository extends JpaRepository<ProductRatingStats, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into online_store.t_product_rating_stats as s
+                (id_product, c_count, c_sum, c_rating_1, c_rating_2, c_rating_3, c_rating_4, c_rating_5)
+            values (:#{#stats.productId}, :#{#stats.count}, :#{#stats.sum}, :#{#stats.rating1}, :#{#stats.rating2},
+                    :#{#stats.rating3}, :#{#stats.rating4}, :#{#stats.rating5})
+            on conflict (id_product) do update
+                set c_count    = s.c_count + excluded.c_count,
+                    c_sum      = s.c_sum + excluded.c_sum,
+                    c_rating_1 = s.c_rating_1 + excluded.c_rating_1,
+                    c_rating_2 = s.c_rating_2 + excluded.c_rating_2,
+                    c_rating_3 = s.c_rating_3 + excluded.c_rating_3,
+                    c_rating_4 = s.c_rating_4 + excluded.c_rating_4,
+                    c_rating_5 = s.c_rating_5 + excluded.c_rating_5
+            """, nativeQuery = true)
+    void add(ProductRatingStats stats);
+}
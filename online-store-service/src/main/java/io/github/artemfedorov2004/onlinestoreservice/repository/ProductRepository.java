@@ -1,7 +1,33 @@
 package io.github.artemfedorov2004.onlinestoreservice.repository;
 
 import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 public interface ProductRepository extends CrudRepository<Product, Long> {
+
+    Window<Product> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query(value = "select * from online_store.t_product where id = any(:ids)", nativeQuery = true)
+    List<Product> findAllByIds(Long[] ids);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    Stream<Product> streamAllByOrderById();
 }
@@ -0,0 +1,25 @@
+package io.github.artemfedorov2004.onlinestoreservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface ProductReviewView {
+
+    Long getProductId();
+
+    Long getId();
+
+    UUID getCustomerId();
+
+    String getCustomerUsername();
+
+    Integer getRating();
+
+    LocalDateTime getCreatedAt();
+
+    String getAdvantages();
+
+    String getDisadvantages();
+
+    String getComment();
+}
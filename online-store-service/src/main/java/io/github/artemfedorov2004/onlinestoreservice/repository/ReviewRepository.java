@@ -1,11 +1,67 @@
 package io.github.artemfedorov2004.onlinestoreservice.repository;
 
 import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
-    @Query(value = "select r from Review r where r.forProduct.id = ?1")
-    Iterable<Review> findAllByProductId(Long productId);
+    @Query(value = """
+            select p.id as "productId", r.id as "id", c.id as "customerId", c.c_username as "customerUsername",
+                   r.c_rating as "rating", r.c_created_at as "createdAt", r.c_advantages as "advantages",
+                   r.c_disadvantages as "disadvantages", r.c_comment as "comment"
+            from online_store.t_product p
+                     left join online_store.t_review r on r.id_product = p.id
+                     left join online_store.t_customer c on c.id = r.id_customer
+            where p.id = :productId
+            order by r.id
+            """, nativeQuery = true)
+    @Transactional(readOnly = true)
+    List<ProductReviewView> findAllProductReviewViews(Long productId);
+
+    @Query(value = """
+            with product as (
+                select id from online_store.t_product where id = :productId
+            ), review as (
+                insert into online_store.t_review (id_product, id_customer, c_rating, c_created_at,
+                                                   c_advantages, c_disadvantages, c_comment)
+                select p.id, :#{#review.createdBy.id}, :#{#review.rating}, :#{#review.createdAt},
+                       cast(:#{#review.advantages} as text), cast(:#{#review.disadvantages} as text),
+                       cast(:#{#review.comment} as text)
+                from product p
+                returning *
+            ), stats as (
+                insert into online_store.t_product_rating_stats as s
+                    (id_product, c_count, c_sum, c_rating_1, c_rating_2, c_rating_3, c_rating_4, c_rating_5)
+                select r.id_product, 1, r.c_rating, (r.c_rating = 1)::int, (r.c_rating = 2)::int,
+                       (r.c_rating = 3)::int, (r.c_rating = 4)::int, (r.c_rating = 5)::int
+                from review r
+                on conflict (id_product) do update
+                    set c_count    = s.c_count + excluded.c_count,
+                        c_sum      = s.c_sum + excluded.c_sum,
+                        c_rating_1 = s.c_rating_1 + excluded.c_rating_1,
+                        c_rating_2 = s.c_rating_2 + excluded.c_rating_2,
+                        c_rating_3 = s.c_rating_3 + excluded.c_rating_3,
+                        c_rating_4 = s.c_rating_4 + excluded.c_rating_4,
+                        c_rating_5 = s.c_rating_5 + excluded.c_rating_5
+            )
+            select r.id_product as "productId", r.id as "id", c.id as "customerId", c.c_username as "customerUsername",
+                   r.c_rating as "rating", r.c_created_at as "createdAt", r.c_advantages as "advantages",
+                   r.c_disadvantages as "disadvantages", r.c_comment as "comment"
+            from review r
+                     join online_store.t_customer c on c.id = r.id_customer
+            """, nativeQuery = true)
+    Optional<ProductReviewView> insertProductReview(Long productId, Review review);
+
+    @EntityGraph(attributePaths = {"forProduct", "createdBy"})
+    Window<Review> findAllByForProductId(Long productId, ScrollPosition position, Sort sort, Limit limit);
 }
@@ -1,5 +1,7 @@
 package io.github.artemfedorov2004.onlinestoreservice.security;
 
+import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
+import io.github.artemfedorov2004.onlinestoreservice.service.CurrentCustomerHolder;
 import io.github.artemfedorov2004.onlinestoreservice.service.CustomerService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Slf4j
 @Component
@@ -22,6 +25,10 @@ public class CustomerOidcUserSynchronizerFilter extends OncePerRequestFilter {
 
     private final CustomerService customerService;
 
+    private final CustomerSyncStateCache customerSyncStateCache;
+
+    private final CurrentCustomerHolder currentCustomerHolder;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -31,7 +38,17 @@ public class CustomerOidcUserSynchronizerFilter extends OncePerRequestFilter {
         if (!(SecurityContextHolder.getContext().getAuthentication() instanceof AnonymousAuthenticationToken)) {
             JwtAuthenticationToken token = (JwtAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
 
-            this.customerService.syncCustomerAndOidcUser(token);
+            UUID oidcUserId = UUID.fromString(token.getName());
+            String username = token.getToken().getClaimAsString("preferred_username");
+
+            UUID customerId = this.customerSyncStateCache.findSyncedCustomerId(oidcUserId, username)
+                    .orElseGet(() -> {
+                        UUID syncedCustomerId = this.customerService.syncCustomerAndOidcUser(token);
+                        this.customerSyncStateCache.markSynced(oidcUserId, syncedCustomerId, username);
+                        return syncedCustomerId;
+                    });
+
+            this.currentCustomerHolder.setCustomer(new Customer(customerId, username));
         }
 
         filterChain.doFilter(request, response);
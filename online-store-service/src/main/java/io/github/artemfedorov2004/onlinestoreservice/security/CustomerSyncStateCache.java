@@ -0,0 +1,44 @@
+package io.github.artemfedorov2004.onlinestoreservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+public class CustomerSyncStateCache {
+
+    private final Cache<UUID, CustomerSyncState> cache;
+
+    public CustomerSyncStateCache(
+            MeterRegistry meterRegistry,
+            @Value("${online-store.customer-sync-cache.maximum-size:10000}") long maximumSize,
+            @Value("${online-store.customer-sync-cache.expire-after-write:PT1H}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "customer-sync-state");
+    }
+
+    public Optional<UUID> findSyncedCustomerId(UUID oidcUserId, String username) {
+        return Optional.ofNullable(this.cache.getIfPresent(oidcUserId))
+                .filter(state -> Objects.equals(state.username(), username))
+                .map(CustomerSyncState::customerId);
+    }
+
+    public void markSynced(UUID oidcUserId, UUID customerId, String username) {
+        this.cache.put(oidcUserId, new CustomerSyncState(customerId, username));
+    }
+
+    private record CustomerSyncState(UUID customerId, String username) {
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeNotificationListener implements SmartLifecycle {
+
+    static final String CHANNEL = "online_store_changes";
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        this.running = true;
+        Thread.ofPlatform()
+                .name("change-notification-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (this.running) {
+            try (Connection connection = DriverManager.getConnection(this.dataSourceProperties.determineUrl(),
+                    this.dataSourceProperties.determineUsername(), this.dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + CHANNEL);
+                }
+                if (reconnecting) {
+                    this.eventPublisher.publishEvent(new ChangeNotificationsResetEvent());
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (this.running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            this.handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException exception) {
+                log.warn("Listening on channel {} failed, reconnecting", CHANNEL, exception);
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void handle(String payload) {
+        String[] parts = payload.split(":", 2);
+        try {
+            switch (parts[0]) {
+                case "product" -> this.eventPublisher.publishEvent(new ProductChangedEvent(Long.parseLong(parts[1])));
+                case "reviews" -> this.eventPublisher.publishEvent(new ProductReviewsChangedEvent(Long.parseLong(parts[1])));
+                case "products" -> this.eventPublisher.publishEvent(new ProductsImportedEvent());
+                default -> log.warn("Unknown change notification: {}", payload);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Malformed change notification: {}", payload, exception);
+        }
+    }
+}
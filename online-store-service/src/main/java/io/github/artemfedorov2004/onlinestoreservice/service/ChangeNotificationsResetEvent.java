@@ -0,0 +1,4 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+public record ChangeNotificationsResetEvent() {
+}
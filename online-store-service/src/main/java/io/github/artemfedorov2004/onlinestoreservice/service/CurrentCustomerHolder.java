@@ -0,0 +1,18 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+@Getter
+@Setter
+@Component
+@RequestScope
+public class CurrentCustomerHolder {
+
+    @Nullable
+    private Customer customer;
+}
@@ -1,5 +1,7 @@
 package io.github.artemfedorov2004.onlinestoreservice.service;
 
+import io.github.artemfedorov2004.onlinestoreservice.datasource.DataSourceWorkload;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.Workload;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
 import io.github.artemfedorov2004.onlinestoreservice.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,26 +20,20 @@ public class DefaultCustomerService implements CustomerService {
 
     private final CustomerRepository customerRepository;
 
+    private final CurrentCustomerHolder currentCustomerHolder;
+
     @Override
     @Transactional
-    public void syncCustomerAndOidcUser(JwtAuthenticationToken token) {
+    @DataSourceWorkload(Workload.IDENTITY_SYNC)
+    public UUID syncCustomerAndOidcUser(JwtAuthenticationToken token) {
         UUID oidcUserId = UUID.fromString(token.getName());
         String username = token.getToken()
                 .getClaimAsString("preferred_username");
 
-        this.customerRepository.findCustomerIdByOidcUserId(oidcUserId)
-                .ifPresentOrElse((id) -> {
-                    Customer customer = this.customerRepository.findById(id)
-                            .orElseThrow(() -> new RuntimeException(
-                                    "Relation t_customer does not contain customer with id - %s".formatted(id.toString())));
-
-                    customer.setUsername(username);
-                }, () -> {
-                    Customer customer = new Customer(null, username);
-
-                    Customer saved = this.customerRepository.save(customer);
-                    this.customerRepository.linkCustomerIdAndOidcUserId(saved.getId(), oidcUserId);
-                });
+        return this.customerRepository.upsertCustomerAndOidcUser(oidcUserId, username)
+                .or(() -> this.customerRepository.upsertCustomerAndOidcUser(oidcUserId, username))
+                .orElseThrow(() -> new RuntimeException("Customer with username - %s can not be linked to oidcUserId - %s"
+                        .formatted(username, oidcUserId.toString())));
     }
 
     @Override
@@ -47,16 +43,18 @@ public class DefaultCustomerService implements CustomerService {
             return null;
         }
 
-        JwtAuthenticationToken token = (JwtAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
+        Customer currentCustomer = this.currentCustomerHolder.getCustomer();
+        if (currentCustomer == null) {
+            JwtAuthenticationToken token = (JwtAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
 
-        UUID oidcUserId = UUID.fromString(token.getName());
+            UUID oidcUserId = UUID.fromString(token.getName());
 
-        UUID id = this.customerRepository.findCustomerIdByOidcUserId(oidcUserId)
-                .orElseThrow(() -> new RuntimeException("Customer with given oidcUserId - %s not found"
-                        .formatted(oidcUserId.toString())));
+            currentCustomer = this.customerRepository.findByOidcUserId(oidcUserId)
+                    .orElseThrow(() -> new RuntimeException("Customer with given oidcUserId - %s not found"
+                            .formatted(oidcUserId.toString())));
+            this.currentCustomerHolder.setCustomer(currentCustomer);
+        }
 
-        return this.customerRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException(
-                        "Relation t_customer does not contain customer with id - %s".formatted(id.toString())));
+        return currentCustomer;
     }
 }
@@ -0,0 +1,134 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.NewProductPayload;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DefaultProductImportService implements ProductImportService {
+
+    private static final String COPY_SQL =
+            "copy online_store.t_product (c_title, c_price) from stdin with (format csv)";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final MessageSource messageSource;
+
+    private final ProductCache productCache;
+
+    @Override
+    @Transactional
+    public ProductImportReport importProducts(ProductImportFormat format, BufferedReader reader) {
+        long startedAt = System.nanoTime();
+        this.jdbcTemplate.queryForObject("select set_config('online_store.bulk_import', 'on', true)", String.class);
+
+        ProductImportReport report = this.jdbcTemplate.execute((ConnectionCallback<ProductImportReport>) connection ->
+                this.copy(format, reader, connection.unwrap(PGConnection.class), startedAt));
+
+        this.jdbcTemplate.queryForObject("select pg_notify('online_store_changes', 'products')", String.class);
+        this.productCache.evictAll();
+
+        log.info("Imported {} products, rejected {} rows in {} ms ({} rows/s)",
+                report.imported(), report.rejected(), report.durationMillis(), report.rowsPerSecond());
+        return report;
+    }
+
+    private ProductImportReport copy(ProductImportFormat format, BufferedReader reader,
+                                     PGConnection connection, long startedAt) throws SQLException {
+        List<ProductImportError> errors = new ArrayList<>();
+        long rejected = 0;
+        long lineNumber = 0;
+
+        PGCopyOutputStream copy = new PGCopyOutputStream(connection, COPY_SQL, COPY_BUFFER_SIZE);
+        try {
+            Writer writer = new OutputStreamWriter(copy, StandardCharsets.UTF_8);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || lineNumber == 1 && format.isHeader(line)) {
+                    continue;
+                }
+
+                List<String> rowErrors = this.copyRow(format, line, writer);
+                if (!rowErrors.isEmpty()) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new ProductImportError(lineNumber, rowErrors));
+                    }
+                }
+            }
+            writer.flush();
+            long imported = copy.endCopy();
+
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            return new ProductImportReport(imported, rejected, errors, durationMillis,
+                    imported * 1000 / Math.max(durationMillis, 1));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private List<String> copyRow(ProductImportFormat format, String line, Writer writer) throws IOException {
+        NewProductPayload payload;
+        try {
+            payload = format.parse(line, this.objectMapper);
+        } catch (JsonProcessingException | IllegalArgumentException exception) {
+            payload = null;
+        }
+        if (payload == null) {
+            return List.of(this.messageSource.getMessage("online_store_service.products.import.errors.row_is_malformed",
+                    new Object[0], "online_store_service.products.import.errors.row_is_malformed",
+                    LocaleContextHolder.getLocale()));
+        }
+
+        List<String> violations = this.validator.validate(payload).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+        if (violations.isEmpty()) {
+            writer.write('"');
+            writer.write(payload.title().replace("\"", "\"\""));
+            writer.write("\",");
+            writer.write(payload.price().toPlainString());
+            writer.write('\n');
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import io.github.artemfedorov2004.onlinestoreservice.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+@Service
+public class DefaultProductPageService implements ProductPageService {
+
+    private final ProductService productService;
+
+    private final ProductRatingStatsService productRatingStatsService;
+
+    private final ReviewRepository reviewRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductPage getProductPage(Long productId, ReviewSort sort, ScrollPosition position, int limit) {
+        Product product = this.productService.getProduct(productId);
+        ProductRatingStats ratingStats = this.productRatingStatsService.getProductRatingStats(productId);
+        Window<Review> reviews = this.reviewRepository.findAllByForProductId(productId, position, sort.toSort(),
+                Limit.of(limit));
+        return new ProductPage(product, ratingStats, reviews);
+    }
+}
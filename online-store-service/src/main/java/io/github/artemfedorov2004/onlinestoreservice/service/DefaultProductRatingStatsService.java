@@ -0,0 +1,44 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
+import io.github.artemfedorov2004.onlinestoreservice.repository.ProductRatingStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+public class DefaultProductRatingStatsService implements ProductRatingStatsService {
+
+    private final ProductRatingStatsRepository productRatingStatsRepository;
+
+    @Override
+    @Transactional
+    public void addRatings(Long productId, Collection<Integer> ratings) {
+        long[] histogram = new long[5];
+        long sum = 0;
+        for (int rating : ratings) {
+            histogram[rating - 1]++;
+            sum += rating;
+        }
+
+        this.productRatingStatsRepository.add(new ProductRatingStats(productId, ratings.size(), sum,
+                histogram[0], histogram[1], histogram[2], histogram[3], histogram[4]));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductRatingStats getProductRatingStats(Long productId) {
+        return this.productRatingStatsRepository.findById(productId)
+                .orElseGet(() -> new ProductRatingStats(productId, 0, 0, 0, 0, 0, 0, 0));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductRatingStats> getProductsRatingStats(Collection<Long> productIds) {
+        return this.productRatingStatsRepository.findAllById(productIds);
+    }
+}
@@ -2,39 +2,84 @@ package io.github.artemfedorov2004.onlinestoreservice.service;
 
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.NewProductPayload;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.UpdateProductPayload;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.DataSourceWorkload;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.Workload;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
 import io.github.artemfedorov2004.onlinestoreservice.exception.ResourceNotFoundException;
 import io.github.artemfedorov2004.onlinestoreservice.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 @Service
 @RequiredArgsConstructor
 public class DefaultProductService implements ProductService {
 
     private final ProductRepository productRepository;
 
+    private final ProductCache productCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final EntityManager entityManager;
+
     @Override
+    @Transactional(readOnly = true)
     public Iterable<Product> getAllProducts() {
         return this.productRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Product> getProducts(ProductSort sort, ScrollPosition position, int limit) {
+        return this.productRepository.findAllBy(position, sort.toSort(), Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @DataSourceWorkload(Workload.BULK_READS)
+    public void forEachProduct(Consumer<Product> action) {
+        try (Stream<Product> products = this.productRepository.streamAllByOrderById()) {
+            products.forEach(product -> {
+                action.accept(product);
+                this.entityManager.detach(product);
+            });
+        }
+    }
+
     @Override
     public Product getProduct(Long productId) {
-        return this.productRepository.findById(productId)
+        return this.productCache.findProduct(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("online_store.errors.product.not_found"));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByIds(Collection<Long> productIds) {
+        return this.productRepository.findAllByIds(productIds.toArray(Long[]::new));
+    }
+
     @Override
     public boolean existsProductById(Long productId) {
-        return this.productRepository.existsById(productId);
+        return this.productCache.findProduct(productId).isPresent();
     }
 
     @Override
     @Transactional
     public Product createProduct(NewProductPayload payload) {
-        return this.productRepository.save(new Product(null, payload.title(), payload.price()));
+        Product product = this.productRepository.save(new Product(null, payload.title(), payload.price()));
+        this.eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
+        return product;
     }
 
     @Override
@@ -44,6 +89,7 @@ public class DefaultProductService implements ProductService {
                 .ifPresentOrElse(product -> {
                     product.setTitle(payload.title());
                     product.setPrice(payload.price());
+                    this.eventPublisher.publishEvent(new ProductChangedEvent(id));
                 }, () -> {
                     throw new ResourceNotFoundException("online_store.errors.product.not_found");
                 });
@@ -53,5 +99,7 @@ public class DefaultProductService implements ProductService {
     @Transactional
     public void deleteProduct(Long id) {
         this.productRepository.deleteById(id);
+        this.eventPublisher.publishEvent(new ProductChangedEvent(id));
+        this.eventPublisher.publishEvent(new ProductReviewsChangedEvent(id));
     }
 }
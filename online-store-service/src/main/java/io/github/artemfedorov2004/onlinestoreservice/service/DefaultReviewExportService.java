@@ -0,0 +1,75 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.datasource.DataSourceWorkload;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.Workload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DefaultReviewExportService implements ReviewExportService {
+
+    private static final String SELECT_REVIEWS = """
+            select r.id as review_id, r.id_product as product_id, r.id_customer as customer_id,
+                   c.c_username as customer_username, r.c_rating as rating, r.c_created_at as created_at,
+                   r.c_advantages as advantages, r.c_disadvantages as disadvantages, r.c_comment as comment
+            from online_store.t_review r
+                     join online_store.t_customer c on c.id = r.id_customer
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    @DataSourceWorkload(Workload.BULK_READS)
+    public void exportReviews(Collection<Long> productIds, LocalDateTime from, LocalDateTime to,
+                              OutputStream outputStream) throws IOException {
+        String sql = "copy (%s) to stdout with (format csv, header)".formatted(selectReviews(productIds, from, to));
+        try {
+            long rows = this.jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, outputStream);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+            log.info("Exported {} reviews", rows);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private static String selectReviews(Collection<Long> productIds, LocalDateTime from, LocalDateTime to) {
+        List<String> conditions = new ArrayList<>();
+        if (productIds != null && !productIds.isEmpty()) {
+            conditions.add("r.id_product = any ('{%s}'::bigint[])".formatted(productIds.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","))));
+        }
+        if (from != null) {
+            conditions.add("r.c_created_at >= '%s'::timestamp".formatted(from));
+        }
+        if (to != null) {
+            conditions.add("r.c_created_at < '%s'::timestamp".formatted(to));
+        }
+
+        return SELECT_REVIEWS
+               + (conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions) + "\n")
+               + "order by r.id";
+    }
+}
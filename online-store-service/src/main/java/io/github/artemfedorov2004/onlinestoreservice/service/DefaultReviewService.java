@@ -1,14 +1,25 @@
 package io.github.artemfedorov2004.onlinestoreservice.service;
 
+import io.github.artemfedorov2004.onlinestoreservice.datasource.DataSourceWorkload;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.Workload;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
 import io.github.artemfedorov2004.onlinestoreservice.exception.ResourceNotFoundException;
+import io.github.artemfedorov2004.onlinestoreservice.repository.ProductReviewView;
 import io.github.artemfedorov2004.onlinestoreservice.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
@@ -20,24 +31,126 @@ public class DefaultReviewService implements ReviewService {
 
     private final ProductService productService;
 
+    private final ProductRatingStatsService productRatingStatsService;
+
+    private final ReviewIngestionQueue reviewIngestionQueue;
+
+    private final ReviewSubmissionService reviewSubmissionService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final SingleFlight<Long, List<Review>> productReviewsSingleFlight;
+
     @Override
     @Transactional
+    @DataSourceWorkload(Workload.REVIEW_WRITES)
     public Review createReview(Long productId, Review review) {
         review.setCreatedAt(LocalDateTime.now());
         review.setCreatedBy(this.customerService.getCurrentCustomer());
 
+        Review created = this.reviewRepository.insertProductReview(productId, review)
+                .map(DefaultReviewService::toReview)
+                .orElseThrow(() -> new ResourceNotFoundException("online_store.errors.product.not_found"));
+        this.eventPublisher.publishEvent(new ProductReviewsChangedEvent(productId));
+        return created;
+    }
+
+    @Override
+    public UUID submitReview(Long productId, Review review) {
+        this.prepareReview(productId, review);
+
+        UUID trackingId = UUID.randomUUID();
+        this.reviewIngestionQueue.submit(new PendingReview(trackingId, review));
+        return trackingId;
+    }
+
+    @Override
+    @Transactional
+    @DataSourceWorkload(Workload.REVIEW_WRITES)
+    public void createReviews(List<PendingReview> pendingReviews) {
+        List<PendingReview> createdReviews = pendingReviews.stream()
+                .map(pendingReview -> new PendingReview(pendingReview.trackingId(),
+                        newReview(pendingReview.review())))
+                .toList();
+        List<Review> reviews = createdReviews.stream()
+                .map(PendingReview::review)
+                .toList();
+        this.reviewRepository.saveAll(reviews);
+        this.reviewSubmissionService.recordCreated(createdReviews);
+        reviews.stream()
+                .collect(Collectors.groupingBy(review -> review.getForProduct().getId(),
+                        Collectors.mapping(Review::getRating, Collectors.toList())))
+                .forEach((productId, ratings) -> {
+                    this.productRatingStatsService.addRatings(productId, ratings);
+                    this.eventPublisher.publishEvent(new ProductReviewsChangedEvent(productId));
+                });
+    }
+
+    @Override
+    public ReviewSubmission getReviewSubmission(Long productId, UUID trackingId) {
+        return this.reviewIngestionQueue.findPending(trackingId)
+                .map(pendingReview -> new ReviewSubmission(trackingId, pendingReview.review().getForProduct().getId(),
+                        ReviewSubmissionStatus.PENDING, null))
+                .or(() -> this.reviewSubmissionService.findReviewSubmission(trackingId))
+                .filter(submission -> submission.productId().equals(productId))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "online_store_service.reviews.ingestion.errors.submission_not_found"));
+    }
+
+    private static Review newReview(Review review) {
+        return Review.builder()
+                .rating(review.getRating())
+                .forProduct(review.getForProduct())
+                .createdBy(review.getCreatedBy())
+                .createdAt(review.getCreatedAt())
+                .advantages(review.getAdvantages())
+                .disadvantages(review.getDisadvantages())
+                .comment(review.getComment())
+                .build();
+    }
+
+    private void prepareReview(Long productId, Review review) {
+        review.setCreatedAt(LocalDateTime.now());
+        review.setCreatedBy(this.customerService.getCurrentCustomer());
+
         Product product = this.productService.getProduct(productId);
         review.setForProduct(product);
+    }
+
+    @Override
+    public List<Review> getAllProductReviews(Long productId) {
+        return this.productReviewsSingleFlight.execute(productId, () -> {
+            List<ProductReviewView> reviews = this.reviewRepository.findAllProductReviewViews(productId);
+            if (reviews.isEmpty()) {
+                throw new ResourceNotFoundException("online_store.errors.product.not_found");
+            }
+
+            return reviews.stream()
+                    .filter(review -> review.getId() != null)
+                    .map(DefaultReviewService::toReview)
+                    .toList();
+        });
+    }
 
-        return this.reviewRepository.save(review);
+    private static Review toReview(ProductReviewView view) {
+        return Review.builder()
+                .id(view.getId())
+                .rating(view.getRating())
+                .createdBy(new Customer(view.getCustomerId(), view.getCustomerUsername()))
+                .createdAt(view.getCreatedAt())
+                .advantages(view.getAdvantages())
+                .disadvantages(view.getDisadvantages())
+                .comment(view.getComment())
+                .build();
     }
 
     @Override
-    public Iterable<Review> getAllProductReviews(Long productId) {
+    @Transactional(readOnly = true)
+    public Window<Review> getProductReviews(Long productId, ReviewSort sort, ScrollPosition position, int limit) {
         if (!this.productService.existsProductById(productId)) {
             throw new ResourceNotFoundException("online_store.errors.product.not_found");
         }
 
-        return this.reviewRepository.findAllByProductId(productId);
+        return this.reviewRepository.findAllByForProductId(productId, position, sort.toSort(), Limit.of(limit));
     }
 }
@@ -0,0 +1,68 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.datasource.DataSourceWorkload;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.Workload;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class DefaultReviewSubmissionService implements ReviewSubmissionService {
+
+    private static final String INSERT_CREATED = """
+            insert into online_store.t_review_submission (id, id_product, id_review, c_status)
+            values (?, ?, ?, 'CREATED')
+            """;
+
+    private static final String INSERT_FAILED = """
+            insert into online_store.t_review_submission (id, id_product, c_status, id_customer, c_rating,
+                                                          c_created_at, c_advantages, c_disadvantages, c_comment,
+                                                          c_error)
+            values (?, ?, 'FAILED', ?, ?, ?, ?, ?, ?, ?)
+            on conflict (id) do nothing
+            """;
+
+    private static final String SELECT_SUBMISSION = """
+            select id, id_product, c_status, id_review
+            from online_store.t_review_submission
+            where id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void recordCreated(List<PendingReview> reviews) {
+        this.jdbcTemplate.batchUpdate(INSERT_CREATED, reviews.stream()
+                .map(pendingReview -> new Object[]{pendingReview.trackingId(),
+                        pendingReview.review().getForProduct().getId(), pendingReview.review().getId()})
+                .toList());
+    }
+
+    @Override
+    @Transactional
+    @DataSourceWorkload(Workload.REVIEW_WRITES)
+    public void recordFailed(PendingReview pendingReview, String error) {
+        Review review = pendingReview.review();
+        this.jdbcTemplate.update(INSERT_FAILED, pendingReview.trackingId(), review.getForProduct().getId(),
+                review.getCreatedBy().getId(), review.getRating(), review.getCreatedAt(), review.getAdvantages(),
+                review.getDisadvantages(), review.getComment(), error);
+    }
+
+    @Override
+    public Optional<ReviewSubmission> findReviewSubmission(UUID trackingId) {
+        return this.jdbcTemplate.query(SELECT_SUBMISSION, (resultSet, rowNum) -> new ReviewSubmission(
+                        resultSet.getObject("id", UUID.class),
+                        resultSet.getLong("id_product"),
+                        ReviewSubmissionStatus.valueOf(resultSet.getString("c_status")),
+                        resultSet.getObject("id_review", Long.class)), trackingId)
+                .stream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+
+import java.util.UUID;
+
+public record PendingReview(UUID trackingId, Review review) {
+}
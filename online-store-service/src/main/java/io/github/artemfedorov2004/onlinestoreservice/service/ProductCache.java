@@ -0,0 +1,82 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.DataSourceWorkload;
+import io.github.artemfedorov2004.onlinestoreservice.datasource.Workload;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ProductCache {
+
+    private final LoadingCache<Long, Optional<Product>> cache;
+
+    private final Set<Long> loadingProductIds = ConcurrentHashMap.newKeySet();
+
+    private final Counter coalescedCounter;
+
+    public ProductCache(
+            ProductRepository productRepository,
+            MeterRegistry meterRegistry,
+            @Value("${online-store.product-cache.maximum-size:10000}") long maximumSize,
+            @Value("${online-store.product-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(productId -> {
+                    this.loadingProductIds.add(productId);
+                    try {
+                        return productRepository.findById(productId)
+                                .map(product -> new Product(product.getId(), product.getTitle(), product.getPrice()));
+                    } finally {
+                        this.loadingProductIds.remove(productId);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "products");
+        this.coalescedCounter = Counter.builder("single.flight.coalesced")
+                .tag("name", "product")
+                .register(meterRegistry);
+    }
+
+    @DataSourceWorkload(Workload.CACHE_FILLS)
+    public Optional<Product> findProduct(Long productId) {
+        if (this.loadingProductIds.contains(productId)) {
+            this.coalescedCounter.increment();
+        }
+        return this.cache.get(productId);
+    }
+
+    public void evictAll() {
+        TransactionCallbacks.afterCompletion(this.cache::invalidateAll);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        this.cache.invalidate(event.productId());
+    }
+
+    @EventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        this.cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onChangeNotificationsReset(ChangeNotificationsResetEvent event) {
+        this.cache.invalidateAll();
+    }
+}
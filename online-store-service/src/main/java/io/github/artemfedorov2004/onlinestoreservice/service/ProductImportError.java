@@ -0,0 +1,6 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import java.util.List;
+
+public record ProductImportError(long line, List<String> errors) {
+}
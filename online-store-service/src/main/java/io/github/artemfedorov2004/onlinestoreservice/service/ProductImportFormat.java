@@ -0,0 +1,88 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.NewProductPayload;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public enum ProductImportFormat {
+
+    NDJSON {
+        @Override
+        boolean isHeader(String line) {
+            return false;
+        }
+
+        @Override
+        NewProductPayload parse(String line, ObjectMapper objectMapper) throws JsonProcessingException {
+            return objectMapper.readValue(line, NewProductPayload.class);
+        }
+    },
+
+    CSV {
+        @Override
+        boolean isHeader(String line) {
+            return line.trim().equalsIgnoreCase("title,price");
+        }
+
+        @Override
+        NewProductPayload parse(String line, ObjectMapper objectMapper) {
+            List<String> fields = splitCsv(line);
+            if (fields.size() != 2) {
+                throw new IllegalArgumentException("Expected 2 fields but got %d".formatted(fields.size()));
+            }
+
+            String price = fields.get(1);
+            return new NewProductPayload(fields.get(0),
+                    price == null || price.isBlank() ? null : new BigDecimal(price.trim()));
+        }
+    };
+
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    public static ProductImportFormat of(MediaType contentType) {
+        return TEXT_CSV.isCompatibleWith(contentType) ? CSV : NDJSON;
+    }
+
+    abstract boolean isHeader(String line);
+
+    abstract NewProductPayload parse(String line, ObjectMapper objectMapper) throws JsonProcessingException;
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import java.util.List;
+
+public record ProductImportReport(
+        long imported,
+        long rejected,
+        List<ProductImportError> errors,
+        long durationMillis,
+        long rowsPerSecond
+) {
+}
@@ -0,0 +1,8 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import java.io.BufferedReader;
+
+public interface ProductImportService {
+
+    ProductImportReport importProducts(ProductImportFormat format, BufferedReader reader);
+}
@@ -0,0 +1,13 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import org.springframework.data.domain.Window;
+
+public record ProductPage(
+        Product product,
+        ProductRatingStats ratingStats,
+        Window<Review> reviews
+) {
+}
@@ -0,0 +1,8 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import org.springframework.data.domain.ScrollPosition;
+
+public interface ProductPageService {
+
+    ProductPage getProductPage(Long productId, ReviewSort sort, ScrollPosition position, int limit);
+}
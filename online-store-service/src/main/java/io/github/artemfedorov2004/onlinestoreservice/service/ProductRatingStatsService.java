@@ -0,0 +1,15 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductRatingStatsService {
+
+    void addRatings(Long productId, Collection<Integer> ratings);
+
+    ProductRatingStats getProductRatingStats(Long productId);
+
+    List<ProductRatingStats> getProductsRatingStats(Collection<Long> productIds);
+}
@@ -3,13 +3,25 @@ package io.github.artemfedorov2004.onlinestoreservice.service;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.NewProductPayload;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.UpdateProductPayload;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
     Iterable<Product> getAllProducts();
 
+    Window<Product> getProducts(ProductSort sort, ScrollPosition position, int limit);
+
+    void forEachProduct(Consumer<Product> action);
+
     Product getProduct(Long productId);
 
+    List<Product> getProductsByIds(Collection<Long> productIds);
+
     boolean existsProductById(Long productId);
 
     Product createProduct(NewProductPayload payload);
@@ -0,0 +1,35 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.Function;
+
+public enum ProductSort {
+
+    ID(Sort.by("id"),
+            Map.of("id", Long::valueOf)),
+    PRICE(Sort.by("price", "id"),
+            Map.of("price", BigDecimal::new, "id", Long::valueOf)),
+    TITLE(Sort.by("title", "id"),
+            Map.of("title", value -> value, "id", Long::valueOf));
+
+    private final Sort sort;
+
+    private final Map<String, Function<String, Object>> keyParsers;
+
+    ProductSort(Sort sort, Map<String, Function<String, Object>> keyParsers) {
+        this.sort = sort;
+        this.keyParsers = keyParsers;
+    }
+
+    public Sort toSort() {
+        return this.sort;
+    }
+
+    public ScrollPosition toScrollPosition(Map<String, String> keys) {
+        return ScrollPositions.forward(keys, this.keyParsers);
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ReviewExportService {
+
+    void exportReviews(Collection<Long> productIds, LocalDateTime from, LocalDateTime to,
+                       OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,133 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+public class ReviewIngestionDrainer implements SmartLifecycle {
+
+    private final ReviewIngestionQueue queue;
+
+    private final ReviewService reviewService;
+
+    private final ReviewSubmissionService reviewSubmissionService;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private final int batchSize;
+
+    private final Duration flushInterval;
+
+    private final Duration shutdownTimeout;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    public ReviewIngestionDrainer(
+            ReviewIngestionQueue queue,
+            ReviewService reviewService,
+            ReviewSubmissionService reviewSubmissionService,
+            MeterRegistry meterRegistry,
+            @Value("${online-store.review-ingestion.batch-size:500}") int batchSize,
+            @Value("${online-store.review-ingestion.flush-interval:PT0.2S}") Duration flushInterval,
+            @Value("${online-store.review-ingestion.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.queue = queue;
+        this.reviewService = reviewService;
+        this.reviewSubmissionService = reviewSubmissionService;
+        this.batchSizeSummary = DistributionSummary.builder("review.ingestion.batch.size")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @Override
+    public void start() {
+        this.running = true;
+        this.thread = Thread.ofPlatform()
+                .name("review-ingestion-drainer")
+                .daemon()
+                .start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        this.queue.close();
+        this.running = false;
+        try {
+            if (!this.thread.join(this.shutdownTimeout)) {
+                List<PendingReview> remaining = this.queue.drainAll();
+                log.warn("Review ingestion queue was not drained within {}, {} reviews are moved to dead letters",
+                        this.shutdownTimeout, remaining.size());
+                remaining.forEach(pendingReview -> this.deadLetter(pendingReview, "Not stored before shutdown"));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        try {
+            while (this.running || !this.queue.isEmpty()) {
+                this.drainBatch();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int drainBatch() throws InterruptedException {
+        List<PendingReview> batch = this.queue.drain(this.batchSize, this.flushInterval);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        this.batchSizeSummary.record(batch.size());
+        try {
+            this.reviewService.createReviews(batch);
+            batch.forEach(this.queue::complete);
+        } catch (RuntimeException exception) {
+            log.warn("Batch of {} reviews failed, storing them one by one", batch.size(), exception);
+            for (PendingReview pendingReview : batch) {
+                try {
+                    this.reviewService.createReviews(List.of(pendingReview));
+                    this.queue.complete(pendingReview);
+                } catch (RuntimeException reviewException) {
+                    log.error("Review {} was not stored", pendingReview.trackingId(), reviewException);
+                    this.deadLetter(pendingReview, reviewException.toString());
+                }
+            }
+        }
+
+        return batch.size();
+    }
+
+    private void deadLetter(PendingReview pendingReview, String error) {
+        try {
+            this.reviewSubmissionService.recordFailed(pendingReview, error);
+        } catch (RuntimeException exception) {
+            log.error("Review {} was lost: {}", pendingReview.trackingId(), pendingReview.review(), exception);
+        } finally {
+            this.queue.complete(pendingReview);
+        }
+    }
+}
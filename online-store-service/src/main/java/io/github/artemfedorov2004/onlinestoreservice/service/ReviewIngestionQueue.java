@@ -0,0 +1,94 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ReviewIngestionQueue {
+
+    private final BlockingQueue<PendingReview> queue;
+
+    private final Map<UUID, PendingReview> pending = new ConcurrentHashMap<>();
+
+    private final Counter rejectedCounter;
+
+    private final Duration retryAfter;
+
+    private volatile boolean closed;
+
+    public ReviewIngestionQueue(
+            MeterRegistry meterRegistry,
+            @Value("${online-store.review-ingestion.queue-capacity:10000}") int capacity,
+            @Value("${online-store.review-ingestion.retry-after:PT1S}") Duration retryAfter) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.retryAfter = retryAfter;
+        Gauge.builder("review.ingestion.queue.depth", this.queue, Collection::size)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("review.ingestion.rejected")
+                .register(meterRegistry);
+    }
+
+    public void submit(PendingReview review) {
+        this.pending.put(review.trackingId(), review);
+        if (this.closed || !this.queue.offer(review)) {
+            this.pending.remove(review.trackingId());
+            this.rejectedCounter.increment();
+            throw new ServiceUnavailableException("online_store_service.reviews.ingestion.errors.queue_is_full",
+                    this.retryAfter);
+        }
+    }
+
+    public List<PendingReview> drain(int maxSize, Duration timeout) throws InterruptedException {
+        List<PendingReview> batch = new ArrayList<>(maxSize);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (batch.size() < maxSize) {
+            PendingReview review = this.queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (review == null) {
+                break;
+            }
+
+            batch.add(review);
+            this.queue.drainTo(batch, maxSize - batch.size());
+        }
+
+        return batch;
+    }
+
+    public List<PendingReview> drainAll() {
+        List<PendingReview> remaining = new ArrayList<>();
+        this.queue.drainTo(remaining);
+        return remaining;
+    }
+
+    public Optional<PendingReview> findPending(UUID trackingId) {
+        return Optional.ofNullable(this.pending.get(trackingId));
+    }
+
+    public void complete(PendingReview review) {
+        this.pending.remove(review.trackingId());
+    }
+
+    public boolean isEmpty() {
+        return this.queue.isEmpty();
+    }
+
+    public void close() {
+        this.closed = true;
+    }
+}
@@ -1,10 +1,23 @@
 package io.github.artemfedorov2004.onlinestoreservice.service;
 
 import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.UUID;
 
 public interface ReviewService {
 
     Review createReview(Long productId, Review review);
 
-    Iterable<Review> getAllProductReviews(Long productId);
+    UUID submitReview(Long productId, Review review);
+
+    void createReviews(List<PendingReview> reviews);
+
+    ReviewSubmission getReviewSubmission(Long productId, UUID trackingId);
+
+    List<Review> getAllProductReviews(Long productId);
+
+    Window<Review> getProductReviews(Long productId, ReviewSort sort, ScrollPosition position, int limit);
 }
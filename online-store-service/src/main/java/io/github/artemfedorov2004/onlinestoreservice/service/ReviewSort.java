@@ -0,0 +1,33 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Function;
+
+public enum ReviewSort {
+
+    NEWEST(Sort.by(Sort.Direction.DESC, "createdAt", "id"),
+            Map.of("createdAt", LocalDateTime::parse, "id", Long::valueOf)),
+    RATING(Sort.by(Sort.Direction.DESC, "rating", "createdAt", "id"),
+            Map.of("rating", Integer::valueOf, "createdAt", LocalDateTime::parse, "id", Long::valueOf));
+
+    private final Sort sort;
+
+    private final Map<String, Function<String, Object>> keyParsers;
+
+    ReviewSort(Sort sort, Map<String, Function<String, Object>> keyParsers) {
+        this.sort = sort;
+        this.keyParsers = keyParsers;
+    }
+
+    public Sort toSort() {
+        return this.sort;
+    }
+
+    public ScrollPosition toScrollPosition(Map<String, String> keys) {
+        return ScrollPositions.forward(keys, this.keyParsers);
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import java.util.UUID;
+
+public record ReviewSubmission(
+        UUID trackingId,
+        Long productId,
+        ReviewSubmissionStatus status,
+        Long reviewId
+) {
+}
@@ -0,0 +1,14 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ReviewSubmissionService {
+
+    void recordCreated(List<PendingReview> reviews);
+
+    void recordFailed(PendingReview review, String error);
+
+    Optional<ReviewSubmission> findReviewSubmission(UUID trackingId);
+}
@@ -0,0 +1,8 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+public enum ReviewSubmissionStatus {
+
+    PENDING,
+    CREATED,
+    FAILED
+}
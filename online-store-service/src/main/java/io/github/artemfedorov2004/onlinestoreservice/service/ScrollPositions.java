@@ -0,0 +1,29 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.exception.InvalidCursorException;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.DateTimeException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+final class ScrollPositions {
+
+    private ScrollPositions() {
+    }
+
+    static ScrollPosition forward(Map<String, String> keys, Map<String, Function<String, Object>> keyParsers) {
+        if (!keys.keySet().equals(keyParsers.keySet())) {
+            throw new InvalidCursorException("online_store_service.errors.cursor.invalid");
+        }
+
+        try {
+            Map<String, Object> position = new LinkedHashMap<>();
+            keyParsers.forEach((key, keyParser) -> position.put(key, keyParser.apply(keys.get(key))));
+            return ScrollPosition.forward(position);
+        } catch (IllegalArgumentException | DateTimeException exception) {
+            throw new InvalidCursorException("online_store_service.errors.cursor.invalid", exception);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+update online_store.t_review r
+set id_product = pr.id_product
+from online_store.t_product_review pr
+where pr.id_review = r.id
+  and r.id_product is null;
+
+update online_store.t_review r
+set id_customer = cr.id_customer
+from online_store.t_customer_review cr
+where cr.id_review = r.id
+  and r.id_customer is null;
+
+alter table online_store.t_review
+    add constraint t_review_product_not_null check (id_product is not null) not valid,
+    add constraint t_review_customer_not_null check (id_customer is not null) not valid;
+
+alter table online_store.t_review validate constraint t_review_product_fk;
+alter table online_store.t_review validate constraint t_review_customer_fk;
+alter table online_store.t_review validate constraint t_review_product_not_null;
+alter table online_store.t_review validate constraint t_review_customer_not_null;
+
+alter table online_store.t_review
+    alter column id_product set not null,
+    alter column id_customer set not null,
+    drop constraint t_review_product_not_null,
+    drop constraint t_review_customer_not_null;
+
+create trigger t_review_changed
+    after insert or update or delete
+    on online_store.t_review
+    for each row
+execute function online_store.notify_product_reviews_changed();
+
+drop trigger t_review_sync_links on online_store.t_review;
+
+drop function online_store.sync_review_links();
+
+drop table online_store.t_product_review;
+
+drop table online_store.t_customer_review;
+
+drop function online_store.sync_review_product();
+
+drop function online_store.sync_review_customer();
@@ -0,0 +1,18 @@
+create table online_store.t_review_submission
+(
+    id              uuid        not null primary key,
+    id_product      bigint      not null,
+    id_review       bigint,
+    c_status        varchar(16) not null,
+    id_customer     uuid,
+    c_rating        integer,
+    c_created_at    timestamp,
+    c_advantages    text,
+    c_disadvantages text,
+    c_comment       text,
+    c_error         text,
+    c_updated_at    timestamp   not null default now()
+);
+
+create index t_review_submission_failed_idx on online_store.t_review_submission (c_updated_at)
+    where c_status = 'FAILED';
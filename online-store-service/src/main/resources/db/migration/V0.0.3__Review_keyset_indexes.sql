@@ -0,0 +1,36 @@
+create index t_product_review_review_idx on online_store.t_product_review (id_review, id_product);
+
+create index t_customer_review_review_idx on online_store.t_customer_review (id_review, id_customer);
+
+alter table online_store.t_review
+    add column id_product bigint;
+
+update online_store.t_review r
+set id_product = pr.id_product
+from online_store.t_product_review pr
+where pr.id_review = r.id;
+
+create function online_store.sync_review_product() returns trigger
+    language plpgsql
+as
+$$
+begin
+    update online_store.t_review
+    set id_product = new.id_product
+    where id = new.id_review
+      and id_product is distinct from new.id_product;
+    return null;
+end;
+$$;
+
+create trigger t_product_review_sync
+    after insert
+    on online_store.t_product_review
+    for each row
+execute function online_store.sync_review_product();
+
+create index t_review_product_created_at_idx
+    on online_store.t_review (id_product, c_created_at desc, id desc);
+
+create index t_review_product_rating_created_at_idx
+    on online_store.t_review (id_product, c_rating desc, c_created_at desc, id desc);
@@ -0,0 +1,33 @@
+create function online_store.notify_product_changed() returns trigger
+    language plpgsql
+as
+$$
+begin
+    perform pg_notify('online_store_changes',
+                      'product:' || case tg_op when 'DELETE' then old.id else new.id end);
+    return null;
+end;
+$$;
+
+create trigger t_product_changed
+    after insert or update or delete
+    on online_store.t_product
+    for each row
+execute function online_store.notify_product_changed();
+
+create function online_store.notify_product_reviews_changed() returns trigger
+    language plpgsql
+as
+$$
+begin
+    perform pg_notify('online_store_changes',
+                      'reviews:' || case tg_op when 'DELETE' then old.id_product else new.id_product end);
+    return null;
+end;
+$$;
+
+create trigger t_product_review_changed
+    after insert or update or delete
+    on online_store.t_product_review
+    for each row
+execute function online_store.notify_product_reviews_changed();
@@ -0,0 +1,26 @@
+create table online_store.t_product_rating_stats
+(
+    id_product bigint not null primary key,
+    c_count    bigint not null default 0,
+    c_sum      bigint not null default 0,
+    c_rating_1 bigint not null default 0,
+    c_rating_2 bigint not null default 0,
+    c_rating_3 bigint not null default 0,
+    c_rating_4 bigint not null default 0,
+    c_rating_5 bigint not null default 0,
+    constraint t_product_rating_stats_product_fk foreign key (id_product) references online_store.t_product (id) on delete cascade
+);
+
+insert into online_store.t_product_rating_stats
+    (id_product, c_count, c_sum, c_rating_1, c_rating_2, c_rating_3, c_rating_4, c_rating_5)
+select pr.id_product,
+       count(*),
+       sum(r.c_rating),
+       count(*) filter (where r.c_rating = 1),
+       count(*) filter (where r.c_rating = 2),
+       count(*) filter (where r.c_rating = 3),
+       count(*) filter (where r.c_rating = 4),
+       count(*) filter (where r.c_rating = 5)
+from online_store.t_product_review pr
+         join online_store.t_review r on r.id = pr.id_review
+group by pr.id_product;
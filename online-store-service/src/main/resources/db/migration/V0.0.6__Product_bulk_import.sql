@@ -0,0 +1,14 @@
+create or replace function online_store.notify_product_changed() returns trigger
+    language plpgsql
+as
+$$
+begin
+    if current_setting('online_store.bulk_import', true) = 'on' then
+        return null;
+    end if;
+
+    perform pg_notify('online_store_changes',
+                      'product:' || case tg_op when 'DELETE' then old.id else new.id end);
+    return null;
+end;
+$$;
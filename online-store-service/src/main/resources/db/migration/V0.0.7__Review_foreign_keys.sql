@@ -0,0 +1,78 @@
+alter table online_store.t_review
+    add column id_customer uuid;
+
+create function online_store.sync_review_customer() returns trigger
+    language plpgsql
+as
+$$
+begin
+    update online_store.t_review
+    set id_customer = new.id_customer
+    where id = new.id_review
+      and id_customer is distinct from new.id_customer;
+    return null;
+end;
+$$;
+
+create trigger t_customer_review_sync
+    after insert
+    on online_store.t_customer_review
+    for each row
+execute function online_store.sync_review_customer();
+
+create function online_store.sync_review_links() returns trigger
+    language plpgsql
+as
+$$
+begin
+    if new.id_product is not null then
+        insert into online_store.t_product_review (id_product, id_review)
+        values (new.id_product, new.id)
+        on conflict do nothing;
+    end if;
+
+    if new.id_customer is not null then
+        insert into online_store.t_customer_review (id_customer, id_review)
+        values (new.id_customer, new.id)
+        on conflict do nothing;
+    end if;
+    return null;
+end;
+$$;
+
+create trigger t_review_sync_links
+    after insert
+    on online_store.t_review
+    for each row
+execute function online_store.sync_review_links();
+
+do
+$$
+    declare
+        batch_size constant bigint := 10000;
+        last_id             bigint := 0;
+        max_id              bigint;
+    begin
+        select coalesce(max(id), 0) into max_id from online_store.t_review;
+
+        while last_id < max_id
+            loop
+                update online_store.t_review r
+                set id_customer = cr.id_customer
+                from online_store.t_customer_review cr
+                where cr.id_review = r.id
+                  and r.id > last_id
+                  and r.id <= last_id + batch_size
+                  and r.id_customer is null;
+
+                last_id := last_id + batch_size;
+                commit;
+            end loop;
+    end;
+$$;
+
+alter table online_store.t_review
+    add constraint t_review_product_fk foreign key (id_product) references online_store.t_product (id) not valid,
+    add constraint t_review_customer_fk foreign key (id_customer) references online_store.t_customer (id) not valid;
+
+create index concurrently t_review_customer_idx on online_store.t_review (id_customer);
@@ -0,0 +1,3 @@
+alter sequence online_store.t_product_id_seq increment by 50;
+
+alter sequence online_store.t_review_id_seq increment by 50;
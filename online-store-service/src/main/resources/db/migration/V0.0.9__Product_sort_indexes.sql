@@ -0,0 +1,3 @@
+create index concurrently t_product_price_idx on online_store.t_product (c_price, id);
+
+create index concurrently t_product_title_idx on online_store.t_product (c_title, id);
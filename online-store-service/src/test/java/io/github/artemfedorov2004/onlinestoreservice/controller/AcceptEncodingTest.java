@@ -0,0 +1,63 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AcceptEncodingTest {
+
+    @Test
+    void acceptsGzip_HeaderIsMissing_ReturnsFalse() {
+        // when
+        boolean result = AcceptEncoding.acceptsGzip(null);
+
+        // then
+        assertFalse(result);
+    }
+
+    @Test
+    void acceptsGzip_GzipIsListed_ReturnsTrue() {
+        // when
+        boolean result = AcceptEncoding.acceptsGzip("deflate;q=1.0, GZIP;q=0.5, br");
+
+        // then
+        assertTrue(result);
+    }
+
+    @Test
+    void acceptsGzip_GzipHasZeroQuality_ReturnsFalse() {
+        // when
+        boolean result = AcceptEncoding.acceptsGzip("gzip; q=0.0, deflate");
+
+        // then
+        assertFalse(result);
+    }
+
+    @Test
+    void acceptsGzip_GzipIsExcludedDespiteWildcard_ReturnsFalse() {
+        // when
+        boolean result = AcceptEncoding.acceptsGzip("gzip;q=0, *");
+
+        // then
+        assertFalse(result);
+    }
+
+    @Test
+    void acceptsGzip_WildcardIsAccepted_ReturnsTrue() {
+        // when
+        boolean result = AcceptEncoding.acceptsGzip("br, *;q=0.1");
+
+        // then
+        assertTrue(result);
+    }
+
+    @Test
+    void acceptsGzip_WildcardHasZeroQuality_ReturnsFalse() {
+        // when
+        boolean result = AcceptEncoding.acceptsGzip("identity, *;q=0");
+
+        // then
+        assertFalse(result);
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProductPageRestControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Sql("/sql/reviews.sql")
+    void getProductPage_ProductExists_ReturnsProductRatingAndReviews() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1/page")
+                .param("size", "2");
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                {
+                                    "product": {
+                                        "id": 1,
+                                        "title": "Ананас",
+                                        "price": 100,
+                                        "rating": {
+                                            "productId": 1,
+                                            "count": 4,
+                                            "average": 2.50,
+                                            "histogram": {"1": 1, "2": 1, "3": 1, "4": 1, "5": 0}
+                                        }
+                                    }
+                                }"""),
+                        jsonPath("$.reviews.reviews[*].id").value(contains(4, 3)),
+                        jsonPath("$.reviews.reviews[0].createdBy.username").value("Artem"),
+                        jsonPath("$.reviews.nextCursor").isString());
+    }
+
+    @Test
+    @Sql("/sql/reviews.sql")
+    void getProductPage_ProductExists_FetchesPageInThreeStatements() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1/page");
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Sql("/sql/reviews.sql")
+    void getProductPage_ProductDoesNotExist_ReturnsNotFound() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/100/page");
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {
+                                    "title": "Not Found",
+                                    "status": 404,
+                                    "detail": "Товар не найден",
+                                    "instance": "/online-store-api/products/100/page"
+                                }""")
+                );
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.CustomerPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.KeysetCursor;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ProductPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ProductRatingPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ReviewPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.mapper.ProductMapper;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.mapper.ReviewMapper;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import io.github.artemfedorov2004.onlinestoreservice.exception.InvalidCursorException;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductPage;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductPageService;
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPageRestControllerTest {
+
+    @Mock
+    ProductPageService productPageService;
+
+    @Mock
+    ProductMapper productMapper;
+
+    @Mock
+    ReviewMapper reviewMapper;
+
+    @InjectMocks
+    ProductPageRestController controller;
+
+    @Test
+    void getProductPage_NextPageExists_ReturnsProductReviewsAndNextCursor() {
+        // given
+        Product product = new Product(1L, "title", BigDecimal.valueOf(1000));
+        ProductRatingStats ratingStats = new ProductRatingStats(1L, 2, 3, 1, 1, 0, 0, 0);
+        Customer customer = new Customer(UUID.fromString("21a6f205-32c8-4056-acee-afad0cbbd220"), "Artem");
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 16, 11, 22);
+        List<Review> reviews = LongStream.range(1, 3)
+                .mapToObj(i -> new Review(i, (int) i, product, customer,
+                        createdAt, "advantages " + i, "disadvantages " + i, "comment " + i))
+                .toList();
+        Window<Review> window = Window.from(reviews, i -> ScrollPosition.forward(
+                Map.of("createdAt", reviews.get(i).getCreatedAt(), "id", reviews.get(i).getId())), true);
+        ProductPayload productPayload = new ProductPayload(1L, "title", BigDecimal.valueOf(1000),
+                new ProductRatingPayload(1L, 2, new BigDecimal("1.50"), Map.of(1, 1L, 2, 1L, 3, 0L, 4, 0L, 5, 0L)));
+        CustomerPayload customerPayload = new CustomerPayload(customer.getId(), "Artem");
+        List<ReviewPayload> reviewsPayload = LongStream.range(1, 3)
+                .mapToObj(i -> new ReviewPayload(i, customerPayload, (int) i,
+                        createdAt, "advantages " + i, "disadvantages " + i, "comment " + i))
+                .toList();
+
+        doReturn(new ProductPage(product, ratingStats, window)).when(this.productPageService)
+                .getProductPage(1L, ReviewSort.NEWEST, ScrollPosition.keyset(), 2);
+        doReturn(productPayload).when(this.productMapper).toPayload(product, ratingStats);
+        doReturn(reviewsPayload.get(0)).when(this.reviewMapper).toPayload(reviews.get(0));
+        doReturn(reviewsPayload.get(1)).when(this.reviewMapper).toPayload(reviews.get(1));
+
+        // when
+        var result = this.controller.getProductPage(1L, ReviewSort.NEWEST, 2, null);
+
+        // then
+        assertEquals(productPayload, result.product());
+        assertEquals(reviewsPayload, result.reviews().reviews());
+        assertEquals(Map.of("createdAt", "2024-05-16T11:22", "id", "2"),
+                KeysetCursor.decode(result.reviews().nextCursor()).keys());
+
+        verify(this.productPageService).getProductPage(1L, ReviewSort.NEWEST, ScrollPosition.keyset(), 2);
+        verifyNoMoreInteractions(this.productPageService);
+    }
+
+    @Test
+    void getProductPage_CursorDoesNotMatchSort_ThrowsInvalidCursorException() {
+        // given
+        String cursor = new KeysetCursor(Map.of("createdAt", "2024-05-16T11:22", "id", "2")).encode();
+
+        // when
+        var exception = assertThrows(InvalidCursorException.class,
+                () -> this.controller.getProductPage(1L, ReviewSort.RATING, 20, cursor));
+
+        // then
+        assertEquals("online_store_service.errors.cursor.invalid", exception.getMessage());
+        verifyNoInteractions(this.productPageService);
+    }
+}
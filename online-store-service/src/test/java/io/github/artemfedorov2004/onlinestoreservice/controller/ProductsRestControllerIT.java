@@ -1,5 +1,6 @@
 package io.github.artemfedorov2004.onlinestoreservice.controller;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -8,14 +9,22 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -49,6 +58,211 @@ class ProductsRestControllerIT {
                 );
     }
 
+    @Test
+    @Sql("/sql/products.sql")
+    void getProductsByIds_ReturnsExistingProducts() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products")
+                .param("ids", "3", "1", "10");
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                [
+                                    {"id": 1, "title": "Ананас", "price": 100},
+                                    {"id": 3, "title": "Лимон", "price": 500}
+                                ]""")
+                );
+    }
+
+    @Test
+    void getProductsByIds_TooManyIds_ReturnsBadRequest() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products")
+                .param("ids", LongStream.rangeClosed(1, 101)
+                        .mapToObj(String::valueOf)
+                        .toArray(String[]::new))
+                .locale(Locale.of("ru", "RU"));
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {
+                                    "errors": [
+                                        "Можно запросить не более 100 товаров"
+                                    ]
+                                }"""));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql("/sql/products.sql")
+    @Sql(statements = "delete from online_store.t_product", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void exportProducts_ReturnsNdjsonStream() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/export");
+
+        // when
+        MvcResult mvcResult = this.mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON),
+                        header().doesNotExist(HttpHeaders.CONTENT_ENCODING),
+                        content().bytes("""
+                                {"id":1,"title":"Ананас","price":100}
+                                {"id":2,"title":"Зефир","price":200}
+                                {"id":3,"title":"Лимон","price":500}
+                                {"id":4,"title":"Яблоко","price":1}
+                                """.getBytes(StandardCharsets.UTF_8))
+                );
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql("/sql/products.sql")
+    @Sql(statements = "delete from online_store.t_product", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void exportProducts_GzipIsAccepted_ReturnsCompressedNdjsonStream() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/export")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        // when
+        MvcResult mvcResult = this.mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                // then
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.CONTENT_ENCODING, "gzip")
+                )
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("""
+                            {"id":1,"title":"Ананас","price":100}
+                            {"id":2,"title":"Зефир","price":200}
+                            {"id":3,"title":"Лимон","price":500}
+                            {"id":4,"title":"Яблоко","price":1}
+                            """,
+                    new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql("/sql/products.sql")
+    @Sql(statements = "delete from online_store.t_product", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void exportProducts_GzipHasZeroQuality_ReturnsUncompressedNdjsonStream() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/export")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate");
+
+        // when
+        MvcResult mvcResult = this.mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                // then
+                .andExpectAll(
+                        status().isOk(),
+                        header().doesNotExist(HttpHeaders.CONTENT_ENCODING),
+                        content().bytes("""
+                                {"id":1,"title":"Ананас","price":100}
+                                {"id":2,"title":"Зефир","price":200}
+                                {"id":3,"title":"Лимон","price":500}
+                                {"id":4,"title":"Яблоко","price":1}
+                                """.getBytes(StandardCharsets.UTF_8))
+                );
+    }
+
+    @Test
+    @Sql("/sql/products.sql")
+    void getProductsPage_SortedByPrice_ReturnsPagesInOrder() throws Exception {
+        // given
+        var firstPageRequestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/page")
+                .param("sort", "PRICE")
+                .param("size", "2");
+
+        // when
+        String firstPage = this.mockMvc.perform(firstPageRequestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                {
+                                    "products": [
+                                        {"id": 4, "title": "Яблоко", "price": 1},
+                                        {"id": 1, "title": "Ананас", "price": 100}
+                                    ]
+                                }"""),
+                        jsonPath("$.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+
+        var secondPageRequestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/page")
+                .param("sort", "PRICE")
+                .param("size", "2")
+                .param("cursor", JsonPath.<String>read(firstPage, "$.nextCursor"));
+
+        // when
+        this.mockMvc.perform(secondPageRequestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                {
+                                    "products": [
+                                        {"id": 2, "title": "Зефир", "price": 200},
+                                        {"id": 3, "title": "Лимон", "price": 500}
+                                    ]
+                                }""")
+                );
+    }
+
+    @Test
+    void getProductsPage_CursorIsInvalid_ReturnsBadRequest() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/page")
+                .param("cursor", "invalid!");
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {
+                                    "status": 400,
+                                    "detail": "Некорректный курсор страницы"
+                                }""")
+                );
+    }
+
     @Test
     @Sql("/sql/products.sql")
     void getProduct_ProductExists_ReturnsProductsList() throws Exception {
@@ -94,6 +308,84 @@ class ProductsRestControllerIT {
                 );
     }
 
+    @Test
+    @Sql("/sql/reviews.sql")
+    void getProduct_ProductHasReviews_ReturnsProductWithRating() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1");
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                {
+                                    "id": 1,
+                                    "title": "Ананас",
+                                    "price": 100,
+                                    "rating": {
+                                        "productId": 1,
+                                        "count": 4,
+                                        "average": 2.50,
+                                        "histogram": {"1": 1, "2": 1, "3": 1, "4": 1, "5": 0}
+                                    }
+                                }""")
+                );
+    }
+
+    @Test
+    @Sql("/sql/reviews.sql")
+    void getProductsRatings_ReturnsRatingsOfReviewedProducts() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/ratings")
+                .param("ids", "1", "10");
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                [
+                                    {
+                                        "productId": 1,
+                                        "count": 4,
+                                        "average": 2.50,
+                                        "histogram": {"1": 1, "2": 1, "3": 1, "4": 1, "5": 0}
+                                    }
+                                ]""")
+                );
+    }
+
+    @Test
+    void getProductsRatings_TooManyIds_ReturnsBadRequest() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/ratings")
+                .param("ids", LongStream.rangeClosed(1, 101)
+                        .mapToObj(String::valueOf)
+                        .toArray(String[]::new))
+                .locale(Locale.of("ru", "RU"));
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {
+                                    "errors": [
+                                        "Можно запросить не более 100 товаров"
+                                    ]
+                                }"""));
+    }
+
     @Test
     void createProduct_RequestIsValid_ReturnsNewProduct() throws Exception {
         // given
@@ -177,6 +469,124 @@ class ProductsRestControllerIT {
                 );
     }
 
+    @Test
+    void importProducts_NdjsonRequest_ImportsValidRowsAndReportsErrors() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.post("/online-store-api/products/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("""
+                        {"title": "Конфета", "price": 2000}
+                        {"title": "   ", "price": -1}
+
+                        not a json
+                        {"title": "Печенье", "price": 150.50}
+                        """)
+                .locale(Locale.of("ru", "RU"))
+                .with(jwt().jwt(builder -> builder.subject("3828cc4f-15b6-4438-815e-ac0f120c0db5")
+                        .claims(claimsConsumer -> claimsConsumer.putAll(
+                                Map.of("scope", "edit_products", "preferred_username", "Artem")))));
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.durationMillis").exists(),
+                        jsonPath("$.rowsPerSecond").exists(),
+                        content().json("""
+                                {
+                                    "imported": 2,
+                                    "rejected": 2,
+                                    "errors": [
+                                        {
+                                            "line": 2,
+                                            "errors": [
+                                                "Название товара должно быть указано",
+                                                "Цена товара должна быть положительным числом"
+                                            ]
+                                        },
+                                        {
+                                            "line": 4,
+                                            "errors": ["Строка не соответствует формату"]
+                                        }
+                                    ]
+                                }"""));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/online-store-api/products"))
+                .andExpect(content().json("""
+                        [
+                            {"title": "Конфета", "price": 2000},
+                            {"title": "Печенье", "price": 150.50}
+                        ]"""));
+    }
+
+    @Test
+    void importProducts_CsvRequest_ImportsValidRowsAndReportsErrors() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.post("/online-store-api/products/import")
+                .contentType("text/csv")
+                .content("""
+                        title,price
+                        "Конфета ""Мишка""\"",2000
+                        Печенье,
+                        Зефир,100,лишнее
+                        """)
+                .locale(Locale.of("ru", "RU"))
+                .with(jwt().jwt(builder -> builder.subject("3828cc4f-15b6-4438-815e-ac0f120c0db5")
+                        .claims(claimsConsumer -> claimsConsumer.putAll(
+                                Map.of("scope", "edit_products", "preferred_username", "Artem")))));
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                {
+                                    "imported": 1,
+                                    "rejected": 2,
+                                    "errors": [
+                                        {
+                                            "line": 3,
+                                            "errors": ["Цена товара должна быть указана"]
+                                        },
+                                        {
+                                            "line": 4,
+                                            "errors": ["Строка не соответствует формату"]
+                                        }
+                                    ]
+                                }"""));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/online-store-api/products"))
+                .andExpect(content().json("""
+                        [
+                            {"title": "Конфета \"Мишка\"", "price": 2000}
+                        ]"""));
+    }
+
+    @Test
+    void importProducts_UserIsNotAuthorized_ReturnsForbidden() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.post("/online-store-api/products/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("""
+                        {"title": "Конфета", "price": 2000}
+                        """)
+                .with(jwt());
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isForbidden()
+                );
+    }
+
     @Test
     @Sql("/sql/products.sql")
     void updateProduct_RequestIsValid_ReturnsNoContent() throws Exception {
@@ -1,30 +1,53 @@
 package io.github.artemfedorov2004.onlinestoreservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.KeysetCursor;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.NewProductPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ProductPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ProductRatingPayload;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.UpdateProductPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.mapper.ProductMapper;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
+import io.github.artemfedorov2004.onlinestoreservice.exception.InvalidCursorException;
 import io.github.artemfedorov2004.onlinestoreservice.exception.ResourceNotFoundException;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductImportFormat;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductImportReport;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductImportService;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductRatingStatsService;
 import io.github.artemfedorov2004.onlinestoreservice.service.ProductService;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductSort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.MapBindingResult;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.LongStream;
 
 import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +56,21 @@ public class ProductsRestControllerTest {
     @Mock
     ProductService productService;
 
+    @Mock
+    ProductRatingStatsService productRatingStatsService;
+
+    @Mock
+    ProductMapper productMapper;
+
+    @Mock
+    ProductImportService productImportService;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    ResponseBodyCache responseBodyCache = new ResponseBodyCache(this.objectMapper, new SimpleMeterRegistry(),
+            1024 * 1024, Duration.ofMinutes(5), 1024);
+
     @InjectMocks
     ProductsRestController controller;
 
@@ -56,17 +94,142 @@ public class ProductsRestControllerTest {
     }
 
     @Test
-    void getProduct_ProductExists_ReturnsProduct() {
+    void getProductsByIds_ReturnsProducts() {
+        // given
+        List<Product> products = LongStream.range(1, 3)
+                .mapToObj(i -> new Product(i, "Продукт №%d".formatted(i), new BigDecimal(100 * i)))
+                .toList();
+
+        doReturn(products).when(this.productService).getProductsByIds(List.of(1L, 2L, 3L));
+
+        // when
+        var result = this.controller.getProductsByIds(List.of(1L, 2L, 3L));
+
+        // then
+        assertEquals(products, result);
+
+        verify(this.productService).getProductsByIds(List.of(1L, 2L, 3L));
+        verifyNoMoreInteractions(this.productService);
+    }
+
+    @Test
+    void getProductsPage_NextPageExists_ReturnsProductsAndNextCursor() {
+        // given
+        List<Product> products = LongStream.range(1, 4)
+                .mapToObj(i -> new Product(i, "Продукт №%d".formatted(i), new BigDecimal(100 * i)))
+                .toList();
+        Window<Product> window = Window.from(products, i -> ScrollPosition.forward(
+                Map.of("price", products.get(i).getPrice(), "id", products.get(i).getId())), true);
+
+        doReturn(window).when(this.productService).getProducts(ProductSort.PRICE, ScrollPosition.keyset(), 3);
+
+        // when
+        var result = this.controller.getProductsPage(ProductSort.PRICE, 3, null);
+
+        // then
+        assertEquals(products, result.products());
+        assertEquals(Map.of("price", "300", "id", "3"), KeysetCursor.decode(result.nextCursor()).keys());
+
+        verify(this.productService).getProducts(ProductSort.PRICE, ScrollPosition.keyset(), 3);
+        verifyNoMoreInteractions(this.productService);
+    }
+
+    @Test
+    void getProductsPage_CursorIsGiven_ReturnsLastPage() {
+        // given
+        List<Product> products = List.of(new Product(4L, "Продукт №4", new BigDecimal(400)));
+        Window<Product> window = Window.from(products, i -> ScrollPosition.forward(
+                Map.of("price", products.get(i).getPrice(), "id", products.get(i).getId())), false);
+        String cursor = new KeysetCursor(Map.of("price", "300", "id", "3")).encode();
+
+        doReturn(window).when(this.productService).getProducts(ProductSort.PRICE,
+                ScrollPosition.forward(Map.of("price", new BigDecimal("300"), "id", 3L)), 100);
+
+        // when
+        var result = this.controller.getProductsPage(ProductSort.PRICE, 1000, cursor);
+
+        // then
+        assertEquals(products, result.products());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getProductsPage_CursorDoesNotMatchSort_ThrowsInvalidCursorException() {
+        // given
+        String cursor = new KeysetCursor(Map.of("title", "Продукт №3", "id", "3")).encode();
+
+        // when
+        var exception = assertThrows(InvalidCursorException.class,
+                () -> this.controller.getProductsPage(ProductSort.PRICE, 3, cursor));
+
+        // then
+        assertEquals("online_store_service.errors.cursor.invalid", exception.getMessage());
+        verifyNoInteractions(this.productService);
+    }
+
+    @Test
+    void getProduct_ProductExists_ReturnsProduct() throws IOException {
+        // given
+        Product product = new Product(1L, "Продукт 1", new BigDecimal(200));
+        ProductRatingStats stats = new ProductRatingStats(1L, 2, 9, 0, 0, 0, 1, 1);
+        ProductPayload payload = new ProductPayload(1L, "Продукт 1", new BigDecimal(200),
+                new ProductRatingPayload(1L, 2, new BigDecimal("4.50"), Map.of(1, 0L, 2, 0L, 3, 0L, 4, 1L, 5, 1L)));
+
+        doReturn(product).when(this.productService).getProduct(1L);
+        doReturn(stats).when(this.productRatingStatsService).getProductRatingStats(1L);
+        doReturn(payload).when(this.productMapper).toPayload(product, stats);
+
+        // when
+        var result = this.controller.getProduct(1L, null);
+
+        // then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, result.getHeaders().getContentType());
+        assertArrayEquals(this.objectMapper.writeValueAsBytes(payload), result.getBody());
+    }
+
+    @Test
+    void getProduct_ProductIsCached_ReturnsCachedBody() {
         // given
         Product product = new Product(1L, "Продукт 1", new BigDecimal(200));
+        ProductRatingStats stats = new ProductRatingStats(1L, 0, 0, 0, 0, 0, 0, 0);
+        ProductPayload payload = new ProductPayload(1L, "Продукт 1", new BigDecimal(200),
+                new ProductRatingPayload(1L, 0, null, Map.of(1, 0L, 2, 0L, 3, 0L, 4, 0L, 5, 0L)));
 
         doReturn(product).when(this.productService).getProduct(1L);
+        doReturn(stats).when(this.productRatingStatsService).getProductRatingStats(1L);
+        doReturn(payload).when(this.productMapper).toPayload(product, stats);
+
+        var first = this.controller.getProduct(1L, null);
 
         // when
-        var result = this.controller.getProduct(1L);
+        var result = this.controller.getProduct(1L, "gzip");
 
         // then
-        assertEquals(product, result);
+        assertArrayEquals(first.getBody(), result.getBody());
+
+        verify(this.productService).getProduct(1L);
+        verifyNoMoreInteractions(this.productService);
+    }
+
+    @Test
+    void getProductsRatings_ReturnsRatings() {
+        // given
+        List<ProductRatingStats> stats = List.of(new ProductRatingStats(1L, 1, 5, 0, 0, 0, 0, 1));
+        List<ProductRatingPayload> payloads = List.of(new ProductRatingPayload(1L, 1, new BigDecimal("5.00"),
+                Map.of(1, 0L, 2, 0L, 3, 0L, 4, 0L, 5, 1L)));
+
+        doReturn(stats).when(this.productRatingStatsService).getProductsRatingStats(List.of(1L, 2L));
+        doReturn(payloads).when(this.productMapper).toPayload(stats);
+
+        // when
+        var result = this.controller.getProductsRatings(List.of(1L, 2L));
+
+        // then
+        assertEquals(payloads, result);
+
+        verify(this.productRatingStatsService).getProductsRatingStats(List.of(1L, 2L));
+        verifyNoMoreInteractions(this.productRatingStatsService);
     }
 
     @Test
@@ -75,12 +238,30 @@ public class ProductsRestControllerTest {
         doThrow(new ResourceNotFoundException("online_store.errors.product.not_found")).when(this.productService).getProduct(1L);
 
         // when
-        var exception = assertThrows(ResourceNotFoundException.class, () -> this.controller.getProduct(1L));
+        var exception = assertThrows(ResourceNotFoundException.class, () -> this.controller.getProduct(1L, null));
 
         // then
         assertEquals("online_store.errors.product.not_found", exception.getMessage());
     }
 
+    @Test
+    void importProducts_CsvRequest_ReturnsImportReport() throws IOException {
+        // given
+        var report = new ProductImportReport(2, 0, List.of(), 10, 200);
+        var body = new ByteArrayInputStream("title,price\nТовар 1,10\nТовар 2,20\n".getBytes(StandardCharsets.UTF_8));
+
+        doReturn(report).when(this.productImportService).importProducts(eq(ProductImportFormat.CSV), any());
+
+        // when
+        var result = this.controller.importProducts(MediaType.valueOf("text/csv"), body);
+
+        // then
+        assertEquals(report, result);
+
+        verify(this.productImportService).importProducts(eq(ProductImportFormat.CSV), any());
+        verifyNoMoreInteractions(this.productImportService);
+    }
+
     @Test
     void createProduct_RequestIsValid_ReturnsCreated() throws BindException {
         // given
@@ -0,0 +1,132 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import io.github.artemfedorov2004.onlinestoreservice.service.ChangeNotificationListener;
+import io.github.artemfedorov2004.onlinestoreservice.service.ChangeNotificationsResetEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "online-store.response-cache.expire-after-write=PT10M")
+@AutoConfigureMockMvc
+@Sql("/sql/reviews.sql")
+@Sql(scripts = "/sql/truncate.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ResponseBodyCacheIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @MockitoBean
+    ChangeNotificationListener changeNotificationListener;
+
+    @BeforeEach
+    void setUp() {
+        this.eventPublisher.publishEvent(new ChangeNotificationsResetEvent());
+    }
+
+    @Test
+    void getAllProductReviews_RequestedTwice_ServesSecondResponseFromCache() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1/reviews");
+        String firstBody = this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        double hits = this.cacheHits();
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().string(firstBody));
+        assertEquals(hits + 1, this.cacheHits());
+    }
+
+    @Test
+    void createReview_ProductReviewsAreCached_EvictsProductReviews() throws Exception {
+        // given
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/online-store-api/products/1/reviews"))
+                .andExpect(jsonPath("$.length()").value(4));
+
+        // when
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/online-store-api/products/1/reviews")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "rating": 5,
+                                    "comment": "new comment"
+                                }""")
+                        .with(jwt().jwt(builder -> builder.subject("3828cc4f-15b6-4438-815e-ac0f120c0db5")
+                                .claims(claimsConsumer -> claimsConsumer.putAll(
+                                        Map.of("scope", "create_product_review", "preferred_username", "Artem"))))))
+                .andExpect(status().isCreated());
+
+        // then
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/online-store-api/products/1/reviews"))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.length()").value(5),
+                        jsonPath("$[4].comment").value("new comment"));
+    }
+
+    @Test
+    void updateProduct_ProductIsCached_EvictsProduct() throws Exception {
+        // given
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/online-store-api/products/1"))
+                .andExpect(jsonPath("$.title").value("Ананас"));
+
+        // when
+        this.mockMvc.perform(MockMvcRequestBuilders.patch("/online-store-api/products/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "title": "Ананас спелый",
+                                    "price": 150
+                                }""")
+                        .with(jwt().jwt(builder -> builder.subject("3828cc4f-15b6-4438-815e-ac0f120c0db5")
+                                .claims(claimsConsumer -> claimsConsumer.putAll(
+                                        Map.of("scope", "edit_products", "preferred_username", "Artem"))))))
+                .andExpect(status().isNoContent());
+
+        // then
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/online-store-api/products/1"))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.title").value("Ананас спелый"),
+                        jsonPath("$.price").value(150));
+    }
+
+    private double cacheHits() {
+        return this.meterRegistry.get("cache.gets")
+                .tags("cache", "responses", "result", "hit")
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.artemfedorov2004.onlinestoreservice.exception.ResourceNotFoundException;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductChangedEvent;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductReviewsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseBodyCacheTest {
+
+    ResponseBodyCache responseBodyCache;
+
+    @BeforeEach
+    void setUp() {
+        this.responseBodyCache = new ResponseBodyCache(new ObjectMapper(), new SimpleMeterRegistry(),
+                1024 * 1024, Duration.ofMinutes(5), 64);
+    }
+
+    @Test
+    void respond_BodyIsCached_SerializesOnce() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        this.responseBodyCache.respond(ResponseBodyCache.Key.product(1L), null,
+                () -> Map.of("id", loads.incrementAndGet()));
+        var result = this.responseBodyCache.respond(ResponseBodyCache.Key.product(1L), null,
+                () -> Map.of("id", loads.incrementAndGet()));
+
+        // then
+        assertEquals(1, loads.get());
+        assertEquals("{\"id\":1}", new String(result.getBody(), StandardCharsets.UTF_8));
+        assertNull(result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void respond_ClientAcceptsGzipAndBodyIsLarge_ReturnsGzipBody() throws IOException {
+        // given
+        String title = "Товар ".repeat(20);
+
+        // when
+        var result = this.responseBodyCache.respond(ResponseBodyCache.Key.product(1L), "gzip, deflate",
+                () -> Map.of("title", title));
+
+        // then
+        assertEquals("gzip", result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, result.getHeaders().getFirst(HttpHeaders.VARY));
+        try (var body = new GZIPInputStream(new ByteArrayInputStream(result.getBody()))) {
+            assertEquals("{\"title\":\"%s\"}".formatted(title), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void respond_PayloadSupplierThrows_DoesNotCacheFailure() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        assertThrows(ResourceNotFoundException.class, () -> this.responseBodyCache.respond(
+                ResponseBodyCache.Key.product(1L), null, () -> {
+                    loads.incrementAndGet();
+                    throw new ResourceNotFoundException("online_store.errors.product.not_found");
+                }));
+        this.responseBodyCache.respond(ResponseBodyCache.Key.product(1L), null,
+                () -> Map.of("id", loads.incrementAndGet()));
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onProductReviewsChanged_EvictsProductAndReviews() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        this.responseBodyCache.respond(ResponseBodyCache.Key.product(1L), null, loads::incrementAndGet);
+        this.responseBodyCache.respond(ResponseBodyCache.Key.productReviews(1L), null, loads::incrementAndGet);
+        this.responseBodyCache.respond(ResponseBodyCache.Key.product(2L), null, loads::incrementAndGet);
+
+        // when
+        this.responseBodyCache.onProductReviewsChanged(new ProductReviewsChangedEvent(1L));
+        this.responseBodyCache.respond(ResponseBodyCache.Key.product(1L), null, loads::incrementAndGet);
+        this.responseBodyCache.respond(ResponseBodyCache.Key.productReviews(1L), null, loads::incrementAndGet);
+        this.responseBodyCache.respond(ResponseBodyCache.Key.product(2L), null, loads::incrementAndGet);
+
+        // then
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void onProductChanged_EvictsProduct() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        this.responseBodyCache.respond(ResponseBodyCache.Key.product(1L), null, loads::incrementAndGet);
+
+        // when
+        this.responseBodyCache.onProductChanged(new ProductChangedEvent(1L));
+        var result = this.responseBodyCache.respond(ResponseBodyCache.Key.product(1L), null, loads::incrementAndGet);
+
+        // then
+        assertEquals("2", new String(result.getBody(), StandardCharsets.UTF_8));
+    }
+}
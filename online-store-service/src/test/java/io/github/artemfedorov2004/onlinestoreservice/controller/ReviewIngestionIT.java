@@ -0,0 +1,115 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewIngestionDrainer;
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewIngestionQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Transactional
+@SpringBootTest(properties = {
+        "online-store.review-ingestion.queue-capacity=1",
+        "online-store.review-ingestion.retry-after=PT5S"
+})
+@AutoConfigureMockMvc
+public class ReviewIngestionIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ReviewIngestionQueue reviewIngestionQueue;
+
+    @MockitoBean
+    ReviewIngestionDrainer reviewIngestionDrainer;
+
+    @AfterEach
+    void tearDown() {
+        this.reviewIngestionQueue.drainAll().forEach(this.reviewIngestionQueue::complete);
+    }
+
+    @Test
+    @Sql("/sql/reviews.sql")
+    void createReview_PreferRespondAsync_ReturnsAcceptedAndPendingSubmission() throws Exception {
+        // given
+        var requestBuilder = submitReviewRequest();
+
+        // when
+        String location = this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isAccepted(),
+                        header().string("Preference-Applied", "respond-async"),
+                        header().string(HttpHeaders.LOCATION,
+                                startsWith("http://localhost/online-store-api/products/1/reviews/submissions/")),
+                        jsonPath("$.trackingId").exists())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.LOCATION);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get(location))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.status").value("PENDING"),
+                        jsonPath("$.reviewId").doesNotExist());
+    }
+
+    @Test
+    @Sql("/sql/reviews.sql")
+    void createReview_QueueIsFull_ReturnsServiceUnavailableWithRetryAfter() throws Exception {
+        // given
+        this.mockMvc.perform(submitReviewRequest())
+                .andExpect(status().isAccepted());
+
+        // when
+        this.mockMvc.perform(submitReviewRequest())
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isServiceUnavailable(),
+                        header().string(HttpHeaders.RETRY_AFTER, "5"),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {
+                                    "status": 503,
+                                    "detail": "Слишком много отзывов, повторите попытку позже",
+                                    "instance": "/online-store-api/products/1/reviews"
+                                }"""));
+    }
+
+    private static MockHttpServletRequestBuilder submitReviewRequest() {
+        return MockMvcRequestBuilders.post("/online-store-api/products/1/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Prefer", "respond-async")
+                .content("""
+                        {
+                            "rating": 4,
+                            "comment": "comment"
+                        }""")
+                .locale(Locale.of("ru", "RU"))
+                .with(jwt().jwt(builder -> builder.subject("3828cc4f-15b6-4438-815e-ac0f120c0db5")
+                        .claims(claimsConsumer -> claimsConsumer.putAll(
+                                Map.of("scope", "create_product_review", "preferred_username", "Artem")))));
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql("/sql/reviews.sql")
+@Sql(scripts = "/sql/truncate.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ReviewsExportRestControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void exportReviews_ProductsAndDateRangeAreSpecified_ReturnsCsv() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/reviews/export")
+                .param("productIds", "1", "2")
+                .param("from", "2024-05-16T00:00:00")
+                .param("to", "2024-05-17T00:00:00")
+                .with(jwt().jwt(builder -> builder.subject("3828cc4f-15b6-4438-815e-ac0f120c0db5")
+                        .claims(claimsConsumer -> claimsConsumer.putAll(
+                                Map.of("scope", "edit_products", "preferred_username", "Artem")))));
+
+        // when
+        MvcResult mvcResult = this.mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.valueOf("text/csv")),
+                        header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reviews.csv\""),
+                        content().bytes("""
+                                review_id,product_id,customer_id,customer_username,rating,created_at,advantages,disadvantages,comment
+                                1,1,11dcb1eb-54a9-47e4-9fa0-c0cddbd62177,Artem,1,2024-05-16 11:22:00,advantages 1,disadvantages 1,comment 1
+                                3,1,11dcb1eb-54a9-47e4-9fa0-c0cddbd62177,Artem,3,2024-05-16 13:24:00,advantages 3,disadvantages 3,comment 3
+                                """.getBytes(StandardCharsets.UTF_8))
+                );
+    }
+
+    @Test
+    void exportReviews_UserIsNotAuthorized_ReturnsForbidden() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/reviews/export")
+                .with(jwt());
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isForbidden()
+                );
+    }
+}
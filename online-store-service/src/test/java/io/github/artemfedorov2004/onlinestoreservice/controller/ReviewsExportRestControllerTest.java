@@ -0,0 +1,50 @@
+package io.github.artemfedorov2004.onlinestoreservice.controller;
+
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewExportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewsExportRestControllerTest {
+
+    @Mock
+    ReviewExportService reviewExportService;
+
+    @InjectMocks
+    ReviewsExportRestController controller;
+
+    @Test
+    void exportReviews_StreamsReviewsFromService() throws IOException {
+        // given
+        var from = LocalDateTime.of(2024, 5, 16, 0, 0);
+        var to = LocalDateTime.of(2024, 5, 17, 0, 0);
+        var outputStream = new ByteArrayOutputStream();
+
+        // when
+        var result = this.controller.exportReviews(List.of(1L), from, to);
+
+        // then
+        assertNotNull(result);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", String.valueOf(result.getHeaders().getContentType()));
+        verifyNoInteractions(this.reviewExportService);
+
+        result.getBody().writeTo(outputStream);
+
+        verify(this.reviewExportService).exportReviews(List.of(1L), from, to, outputStream);
+        verifyNoMoreInteractions(this.reviewExportService);
+    }
+}
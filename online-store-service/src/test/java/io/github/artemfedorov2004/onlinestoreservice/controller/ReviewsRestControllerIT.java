@@ -1,5 +1,10 @@
 package io.github.artemfedorov2004.onlinestoreservice.controller;
 
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -14,7 +19,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Locale;
 import java.util.Map;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,6 +34,12 @@ public class ReviewsRestControllerIT {
     @Autowired
     MockMvc mockMvc;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    EntityManager entityManager;
+
     @Test
     @Sql("/sql/reviews.sql")
     void getAllProductReviews_ProductExists_ReturnsReviewList() throws Exception {
@@ -94,6 +107,39 @@ public class ReviewsRestControllerIT {
                 );
     }
 
+    @Test
+    @Sql("/sql/reviews.sql")
+    void getAllProductReviews_ProductExists_ExecutesSingleStatement() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1/reviews");
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Sql("/sql/products.sql")
+    void getAllProductReviews_ProductHasNoReviews_ReturnsEmptyList() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1/reviews");
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("[]", true)
+                );
+    }
+
     @Test
     @Sql("/sql/reviews.sql")
     void getAllProductReviews_ProductDoesNotExist_ReturnsNotFound() throws Exception {
@@ -117,6 +163,160 @@ public class ReviewsRestControllerIT {
                 );
     }
 
+    @Test
+    @Sql("/sql/reviews.sql")
+    void getProductReviewsPage_SortedByNewest_ReturnsPagesInOrder() throws Exception {
+        // given
+        var firstPageRequestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1/reviews/page")
+                .param("size", "2");
+
+        // when
+        String firstPage = this.mockMvc.perform(firstPageRequestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.reviews[*].id").value(contains(4, 3)),
+                        jsonPath("$.reviews[0].createdBy.username").value("Artem"),
+                        jsonPath("$.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+
+        var secondPageRequestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1/reviews/page")
+                .param("size", "2")
+                .param("cursor", JsonPath.<String>read(firstPage, "$.nextCursor"));
+
+        // when
+        this.mockMvc.perform(secondPageRequestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.reviews[*].id").value(contains(1, 2)),
+                        jsonPath("$.nextCursor").doesNotExist()
+                );
+    }
+
+    @Test
+    @Sql("/sql/reviews.sql")
+    void getProductReviewsPage_SortedByRating_ReturnsPagesInOrder() throws Exception {
+        // given
+        var firstPageRequestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1/reviews/page")
+                .param("sort", "RATING")
+                .param("size", "3");
+
+        // when
+        String firstPage = this.mockMvc.perform(firstPageRequestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.reviews[*].rating").value(contains(4, 3, 2)),
+                        jsonPath("$.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+
+        var secondPageRequestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1/reviews/page")
+                .param("sort", "RATING")
+                .param("size", "3")
+                .param("cursor", JsonPath.<String>read(firstPage, "$.nextCursor"));
+
+        // when
+        this.mockMvc.perform(secondPageRequestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.reviews[*].rating").value(contains(1)),
+                        jsonPath("$.nextCursor").doesNotExist()
+                );
+    }
+
+    @Test
+    @Sql("/sql/reviews.sql")
+    void getProductReviewsPage_ProductExists_FetchesReviewsWithAuthorsInOneStatement() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/1/reviews/page");
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Sql("/sql/reviews.sql")
+    void getProductReviewsPage_ProductDoesNotExist_ReturnsNotFound() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get("/online-store-api/products/100/reviews/page");
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {
+                                    "title": "Not Found",
+                                    "status": 404,
+                                    "detail": "Товар не найден",
+                                    "instance": "/online-store-api/products/100/reviews/page"
+                                }""")
+                );
+    }
+
+    @Test
+    @Sql({"/sql/reviews.sql", "/sql/review-submissions.sql"})
+    void getReviewSubmission_SubmissionIsStored_ReturnsSubmissionStatus() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get(
+                "/online-store-api/products/1/reviews/submissions/5f0a7f3e-7a52-4b8c-9d0e-2f6b8a1c4d3e");
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                {
+                                    "trackingId": "5f0a7f3e-7a52-4b8c-9d0e-2f6b8a1c4d3e",
+                                    "status": "CREATED",
+                                    "reviewId": 4
+                                }"""));
+    }
+
+    @Test
+    @Sql({"/sql/reviews.sql", "/sql/review-submissions.sql"})
+    void getReviewSubmission_SubmissionBelongsToAnotherProduct_ReturnsNotFound() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.get(
+                "/online-store-api/products/2/reviews/submissions/0b8c5d2e-1f3a-4c6b-8e9d-7a2f4b6c8d0e")
+                .locale(Locale.of("ru", "RU"));
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                // then
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {
+                                    "status": 404,
+                                    "detail": "Отзыв не найден"
+                                }"""));
+    }
+
     @Test
     @Sql("/sql/reviews.sql")
     void createReview_RequestIsValid_ReturnsNewReview() throws Exception {
@@ -157,6 +357,31 @@ public class ReviewsRestControllerIT {
                                 }"""));
     }
 
+    @Test
+    @Sql("/sql/reviews.sql")
+    void createReview_CustomerSyncIsNotCached_UpsertsCustomerAndInsertsReviewInOneStatementEach() throws Exception {
+        // given
+        var requestBuilder = MockMvcRequestBuilders.post("/online-store-api/products/1/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "rating": 3
+                        }""")
+                .with(jwt().jwt(builder -> builder.subject("3828cc4f-15b6-4438-815e-ac0f120c0db5")
+                        .claims(claimsConsumer -> claimsConsumer.putAll(
+                                Map.of("scope", "create_product_review", "preferred_username", "Artem")))));
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isCreated());
+        this.entityManager.flush();
+
+        // then
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
     @Test
     void createReview_RequestIsInvalid_ReturnsProblemDetail() throws Exception {
         // given
@@ -1,32 +1,49 @@
 package io.github.artemfedorov2004.onlinestoreservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.AcceptedReviewPayload;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.CustomerPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.KeysetCursor;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.NewReviewPayload;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ReviewPayload;
+import io.github.artemfedorov2004.onlinestoreservice.controller.payload.ReviewSubmissionPayload;
 import io.github.artemfedorov2004.onlinestoreservice.controller.payload.mapper.ReviewMapper;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import io.github.artemfedorov2004.onlinestoreservice.exception.InvalidCursorException;
 import io.github.artemfedorov2004.onlinestoreservice.exception.ResourceNotFoundException;
 import io.github.artemfedorov2004.onlinestoreservice.service.ReviewService;
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewSort;
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewSubmission;
+import io.github.artemfedorov2004.onlinestoreservice.service.ReviewSubmissionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.MapBindingResult;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,17 +57,20 @@ class ReviewsRestControllerTest {
     @Mock
     ReviewMapper reviewMapper;
 
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    ResponseBodyCache responseBodyCache = new ResponseBodyCache(this.objectMapper, new SimpleMeterRegistry(),
+            1024 * 1024, Duration.ofMinutes(5), 0);
+
     @InjectMocks
     ReviewsRestController controller;
 
     @Test
-    void getAllProductReviews_ReturnsReviewsList() {
+    void getAllProductReviews_ReturnsReviewsList() throws IOException {
         // given
-        Product product = new Product(1L, "title", BigDecimal.valueOf(1000));
-        Customer customer = new Customer(UUID.fromString("21a6f205-32c8-4056-acee-afad0cbbd220"), "Artem");
         List<Review> reviews = LongStream.range(1, 4)
-                .mapToObj(i -> new Review(i, (int) i, product, customer,
-                        LocalDateTime.now(), "advantages " + i, "disadvantages " + i, "comment " + i))
+                .mapToObj(i -> Review.builder().id(i).build())
                 .toList();
         CustomerPayload customerPayload = new CustomerPayload(UUID.fromString("21a6f205-32c8-4056-acee-afad0cbbd220"), "Artem");
         List<ReviewPayload> payload = LongStream.range(1, 4)
@@ -59,19 +79,71 @@ class ReviewsRestControllerTest {
                 .toList();
 
         doReturn(reviews).when(this.reviewService).getAllProductReviews(1L);
-        doReturn(payload).when(this.reviewMapper).toPayload(reviews);
+        for (int i = 0; i < reviews.size(); i++) {
+            doReturn(payload.get(i)).when(this.reviewMapper).toPayload(reviews.get(i));
+        }
 
         // when
-        Iterable<ReviewPayload> result = this.controller.getAllProductReviews(1L);
+        var result = this.controller.getAllProductReviews(1L, "gzip");
 
         // then
-        assertEquals(payload, result);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("gzip", result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (var body = new GZIPInputStream(new ByteArrayInputStream(result.getBody()))) {
+            assertArrayEquals(this.objectMapper.writeValueAsBytes(payload), body.readAllBytes());
+        }
 
         verify(this.reviewService).getAllProductReviews(1L);
         verifyNoMoreInteractions(this.reviewService);
+    }
 
-        verify(this.reviewMapper).toPayload(reviews);
-        verifyNoMoreInteractions(this.reviewMapper);
+    @Test
+    void getProductReviewsPage_NextPageExists_ReturnsReviewsAndNextCursor() {
+        // given
+        Product product = new Product(1L, "title", BigDecimal.valueOf(1000));
+        Customer customer = new Customer(UUID.fromString("21a6f205-32c8-4056-acee-afad0cbbd220"), "Artem");
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 16, 11, 22);
+        List<Review> reviews = LongStream.range(1, 3)
+                .mapToObj(i -> new Review(i, (int) i, product, customer,
+                        createdAt, "advantages " + i, "disadvantages " + i, "comment " + i))
+                .toList();
+        Window<Review> window = Window.from(reviews, i -> ScrollPosition.forward(
+                Map.of("createdAt", reviews.get(i).getCreatedAt(), "id", reviews.get(i).getId())), true);
+        CustomerPayload customerPayload = new CustomerPayload(UUID.fromString("21a6f205-32c8-4056-acee-afad0cbbd220"), "Artem");
+        List<ReviewPayload> payload = LongStream.range(1, 3)
+                .mapToObj(i -> new ReviewPayload(i, customerPayload, (int) i,
+                        createdAt, "advantages " + i, "disadvantages " + i, "comment " + i))
+                .toList();
+
+        doReturn(window).when(this.reviewService).getProductReviews(1L, ReviewSort.NEWEST, ScrollPosition.keyset(), 2);
+        doReturn(payload.get(0)).when(this.reviewMapper).toPayload(reviews.get(0));
+        doReturn(payload.get(1)).when(this.reviewMapper).toPayload(reviews.get(1));
+
+        // when
+        var result = this.controller.getProductReviewsPage(1L, ReviewSort.NEWEST, 2, null);
+
+        // then
+        assertEquals(payload, result.reviews());
+        assertEquals(Map.of("createdAt", "2024-05-16T11:22", "id", "2"),
+                KeysetCursor.decode(result.nextCursor()).keys());
+
+        verify(this.reviewService).getProductReviews(1L, ReviewSort.NEWEST, ScrollPosition.keyset(), 2);
+        verifyNoMoreInteractions(this.reviewService);
+    }
+
+    @Test
+    void getProductReviewsPage_CursorDoesNotMatchSort_ThrowsInvalidCursorException() {
+        // given
+        String cursor = new KeysetCursor(Map.of("createdAt", "2024-05-16T11:22", "id", "2")).encode();
+
+        // when
+        var exception = assertThrows(InvalidCursorException.class,
+                () -> this.controller.getProductReviewsPage(1L, ReviewSort.RATING, 20, cursor));
+
+        // then
+        assertEquals("online_store_service.errors.cursor.invalid", exception.getMessage());
+        verifyNoInteractions(this.reviewService);
+        verifyNoInteractions(this.reviewMapper);
     }
 
     @Test
@@ -84,10 +156,8 @@ class ReviewsRestControllerTest {
         Review review = new Review(null, 5, null, null, null, "Advantages", "Disadvantages", "Comment");
         doReturn(review).when(this.reviewMapper).fromPayload(payload);
 
-        Product product = new Product(1L, "Товар", BigDecimal.valueOf(1000));
         LocalDateTime createdAt = LocalDateTime.now();
-        Customer createdBy = new Customer(UUID.fromString("c92e0418-fed9-4de4-be03-b6f15895eb23"), "Artem");
-        Review createdReview = new Review(1L, 5, product, createdBy, createdAt, "Advantages", "Disadvantages", "Comment");
+        Review createdReview = new Review(1L, 5, null, null, createdAt, "Advantages", "Disadvantages", "Comment");
         doReturn(createdReview).when(this.reviewService).createReview(1L, review);
 
         CustomerPayload customerPayload = new CustomerPayload(UUID.fromString("c92e0418-fed9-4de4-be03-b6f15895eb23"), "Artem");
@@ -95,7 +165,7 @@ class ReviewsRestControllerTest {
         doReturn(createdReviewPayload).when(this.reviewMapper).toPayload(createdReview);
 
         // when
-        var result = this.controller.createReview(payload, 1L, bindingResult, uriComponentsBuilder);
+        var result = this.controller.createReview(payload, 1L, bindingResult, null, uriComponentsBuilder);
 
         // then
         assertNotNull(result);
@@ -111,6 +181,54 @@ class ReviewsRestControllerTest {
         verifyNoMoreInteractions(this.reviewService);
     }
 
+    @Test
+    void createReview_PreferRespondAsync_ReturnsAccepted() throws BindException {
+        // given
+        var payload = new NewReviewPayload(5, "Advantages", "Disadvantages", "Comment");
+        var bindingResult = new MapBindingResult(Map.of(), "payload");
+        var uriComponentsBuilder = UriComponentsBuilder.fromUriString("http://localhost");
+
+        Review review = new Review(null, 5, null, null, null, "Advantages", "Disadvantages", "Comment");
+        doReturn(review).when(this.reviewMapper).fromPayload(payload);
+
+        UUID trackingId = UUID.fromString("5f0a7f3e-7a52-4b8c-9d0e-2f6b8a1c4d3e");
+        doReturn(trackingId).when(this.reviewService).submitReview(1L, review);
+
+        // when
+        var result = this.controller.createReview(payload, 1L, bindingResult, "respond-async", uriComponentsBuilder);
+
+        // then
+        assertNotNull(result);
+        assertEquals(HttpStatus.ACCEPTED, result.getStatusCode());
+        assertEquals("respond-async", result.getHeaders().getFirst("Preference-Applied"));
+        assertEquals(URI.create("http://localhost/online-store-api/products/1/reviews/submissions/" + trackingId),
+                result.getHeaders().getLocation());
+        assertEquals(new AcceptedReviewPayload(trackingId), result.getBody());
+
+        verify(this.reviewMapper).fromPayload(payload);
+        verifyNoMoreInteractions(this.reviewMapper);
+
+        verify(this.reviewService).submitReview(1L, review);
+        verifyNoMoreInteractions(this.reviewService);
+    }
+
+    @Test
+    void getReviewSubmission_ReturnsSubmissionStatus() {
+        // given
+        UUID trackingId = UUID.fromString("5f0a7f3e-7a52-4b8c-9d0e-2f6b8a1c4d3e");
+        doReturn(new ReviewSubmission(trackingId, 1L, ReviewSubmissionStatus.CREATED, 3L))
+                .when(this.reviewService).getReviewSubmission(1L, trackingId);
+
+        // when
+        var result = this.controller.getReviewSubmission(1L, trackingId);
+
+        // then
+        assertEquals(new ReviewSubmissionPayload(trackingId, ReviewSubmissionStatus.CREATED, 3L), result);
+
+        verify(this.reviewService).getReviewSubmission(1L, trackingId);
+        verifyNoMoreInteractions(this.reviewService);
+    }
+
     @Test
     void createReview_RequestIsInvalid_ThrowsBindException() {
         // given
@@ -121,7 +239,7 @@ class ReviewsRestControllerTest {
 
         // when
         var exception = assertThrows(BindException.class,
-                () -> this.controller.createReview(payload, 1L, bindingResult, uriComponentsBuilder));
+                () -> this.controller.createReview(payload, 1L, bindingResult, null, uriComponentsBuilder));
 
         // then
         assertEquals(List.of(new FieldError("payload", "rating", "error")), exception.getAllErrors());
@@ -139,7 +257,7 @@ class ReviewsRestControllerTest {
 
         // when
         var exception = assertThrows(BindException.class,
-                () -> this.controller.createReview(payload, 1L, bindingResult, uriComponentsBuilder));
+                () -> this.controller.createReview(payload, 1L, bindingResult, null, uriComponentsBuilder));
 
         // then
         assertEquals(List.of(new FieldError("payload", "rating", "error")), exception.getAllErrors());
@@ -161,7 +279,7 @@ class ReviewsRestControllerTest {
 
         // when
         assertThrows(ResourceNotFoundException.class,
-                () -> this.controller.createReview(payload, 1L, bindingResult, uriComponentsBuilder));
+                () -> this.controller.createReview(payload, 1L, bindingResult, null, uriComponentsBuilder));
 
         verify(this.reviewMapper).fromPayload(payload);
         verifyNoMoreInteractions(this.reviewMapper);
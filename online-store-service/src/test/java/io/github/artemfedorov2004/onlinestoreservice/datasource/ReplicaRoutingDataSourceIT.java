@@ -0,0 +1,96 @@
+package io.github.artemfedorov2004.onlinestoreservice.datasource;
+
+import io.github.artemfedorov2004.onlinestoreservice.repository.ProductRepository;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductCache;
+import io.github.artemfedorov2004.onlinestoreservice.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "online-store.datasource.replica-urls=jdbc:tc:postgresql:16:///online-store?TC_DAEMON=true")
+class ReplicaRoutingDataSourceIT {
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ProductCache productCache;
+
+    @Autowired
+    ProductService productService;
+
+    @Test
+    void readOnlyTransaction_ReplicaIsInSync_UsesReplica() {
+        // given
+        double routedToReplica = this.routedTo("replica-1");
+
+        // when
+        this.productRepository.count();
+
+        // then
+        assertEquals(routedToReplica + 1, this.routedTo("replica-1"));
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimaryWithoutRouting() {
+        // given
+        double routedToReplica = this.routedTo("replica-1");
+        double routedToPrimary = this.routedTo("primary");
+
+        // when
+        new TransactionTemplate(this.transactionManager)
+                .executeWithoutResult(status -> this.productRepository.count());
+
+        // then
+        assertEquals(routedToReplica, this.routedTo("replica-1"));
+        assertEquals(routedToPrimary, this.routedTo("primary"));
+    }
+
+    @Test
+    void cacheFill_ReplicaIsInSync_UsesPrimaryWithoutRouting() {
+        // given
+        double routedToReplica = this.routedTo("replica-1");
+        double routedToPrimary = this.routedTo("primary");
+
+        // when
+        this.productCache.findProduct(1L);
+
+        // then
+        assertEquals(routedToReplica, this.routedTo("replica-1"));
+        assertEquals(routedToPrimary, this.routedTo("primary"));
+    }
+
+    @Test
+    void bulkRead_ReplicaIsInSync_UsesBulkReadsPoolWithoutRouting() {
+        // given
+        double routedToReplica = this.routedTo("replica-1");
+        double routedToPrimary = this.routedTo("primary");
+        long bulkReadsUsage = this.meterRegistry.get("hikaricp.connections.usage")
+                .tag("pool", "bulk-reads").timer().count();
+
+        // when
+        this.productService.forEachProduct(product -> {
+        });
+
+        // then
+        assertEquals(routedToReplica, this.routedTo("replica-1"));
+        assertEquals(routedToPrimary, this.routedTo("primary"));
+        assertEquals(bulkReadsUsage + 1, this.meterRegistry.get("hikaricp.connections.usage")
+                .tag("pool", "bulk-reads").timer().count());
+    }
+
+    private double routedTo(String target) {
+        return this.meterRegistry.get("datasource.routing").tag("target", target).counter().count();
+    }
+}
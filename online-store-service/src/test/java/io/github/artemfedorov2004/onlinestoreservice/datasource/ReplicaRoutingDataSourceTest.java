@@ -0,0 +1,63 @@
+package io.github.artemfedorov2004.onlinestoreservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    DataSource primary;
+
+    @Mock
+    DataSource replica;
+
+    SimpleMeterRegistry meterRegistry;
+
+    ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.dataSource = new ReplicaRoutingDataSource(this.primary, Map.of("replica-1", this.replica),
+                Duration.ofSeconds(5), Duration.ofSeconds(1), this.meterRegistry);
+        this.dataSource.afterPropertiesSet();
+    }
+
+    @Test
+    void determineCurrentLookupKey_ReplicationLagIsUnknown_ReturnsPrimary() {
+        // when
+        Object result = this.dataSource.determineCurrentLookupKey();
+
+        // then
+        assertEquals("primary", result);
+        assertEquals(1.0, this.meterRegistry.get("datasource.routing").tag("target", "primary").counter().count());
+    }
+
+    @Test
+    void determineCurrentLookupKey_ReplicaIsUnavailable_ReturnsPrimary() throws SQLException {
+        // given
+        doThrow(new SQLException("Connection refused")).when(this.replica).getConnection();
+        this.dataSource.checkReplicationLag();
+
+        // when
+        Object result = this.dataSource.determineCurrentLookupKey();
+
+        // then
+        assertEquals("primary", result);
+        assertEquals(0.0, this.meterRegistry.get("datasource.routing").tag("target", "replica-1").counter().count());
+        assertEquals(Double.NaN, this.meterRegistry.get("datasource.replica.lag").gauge().value());
+    }
+}
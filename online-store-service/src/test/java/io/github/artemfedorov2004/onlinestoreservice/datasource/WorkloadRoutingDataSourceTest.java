@@ -0,0 +1,123 @@
+package io.github.artemfedorov2004.onlinestoreservice.datasource;
+
+import io.github.artemfedorov2004.onlinestoreservice.config.DataSourceBeans;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadRoutingDataSourceTest {
+
+    @Mock
+    DataSource primary;
+
+    @Mock
+    DataSource reviewWrites;
+
+    @Mock
+    DataSource identitySync;
+
+    @Mock
+    Connection connection;
+
+    WorkloadRoutingDataSource dataSource;
+
+    Repository repository;
+
+    @BeforeEach
+    void setUp() {
+        this.dataSource = new WorkloadRoutingDataSource(this.primary, Map.of(
+                Workload.REVIEW_WRITES, this.reviewWrites,
+                Workload.IDENTITY_SYNC, this.identitySync));
+        this.dataSource.afterPropertiesSet();
+
+        ProxyFactory proxyFactory = new ProxyFactory(new Repository(this.dataSource));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(DataSourceBeans.dataSourceWorkloadAdvisor());
+        this.repository = (Repository) proxyFactory.getProxy();
+    }
+
+    @Test
+    void getConnection_MethodHasNoWorkload_UsesDefaultDataSource() throws SQLException {
+        // given
+        doReturn(this.connection).when(this.primary).getConnection();
+
+        // when
+        Connection result = this.repository.read();
+
+        // then
+        assertEquals(this.connection, result);
+        verifyNoInteractions(this.reviewWrites, this.identitySync);
+    }
+
+    @Test
+    void getConnection_MethodHasWorkload_UsesWorkloadDataSource() throws SQLException {
+        // given
+        doReturn(this.connection).when(this.reviewWrites).getConnection();
+
+        // when
+        Connection result = this.repository.writeReview();
+
+        // then
+        assertEquals(this.connection, result);
+        assertNull(WorkloadInterceptor.currentWorkload());
+        verifyNoInteractions(this.primary, this.identitySync);
+    }
+
+    @Test
+    void getConnection_NestedWorkload_RestoresOuterWorkload() throws SQLException {
+        // given
+        doReturn(this.connection).when(this.identitySync).getConnection();
+        doReturn(this.connection).when(this.reviewWrites).getConnection();
+
+        // when
+        this.repository.writeReviewAfterSync(this.repository);
+
+        // then
+        verify(this.identitySync).getConnection();
+        verify(this.reviewWrites, times(2)).getConnection();
+        verifyNoInteractions(this.primary);
+    }
+
+    public static class Repository {
+
+        private final DataSource dataSource;
+
+        public Repository(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public Connection read() throws SQLException {
+            return this.dataSource.getConnection();
+        }
+
+        @DataSourceWorkload(Workload.REVIEW_WRITES)
+        public Connection writeReview() throws SQLException {
+            return this.dataSource.getConnection();
+        }
+
+        @DataSourceWorkload(Workload.IDENTITY_SYNC)
+        public Connection sync() throws SQLException {
+            return this.dataSource.getConnection();
+        }
+
+        @DataSourceWorkload(Workload.REVIEW_WRITES)
+        public void writeReviewAfterSync(Repository self) throws SQLException {
+            this.dataSource.getConnection();
+            self.sync();
+            this.dataSource.getConnection();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.artemfedorov2004.onlinestoreservice.repository;
 
+import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -9,8 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 import java.util.UUID;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 @Sql("/sql/customers.sql")
@@ -21,27 +21,82 @@ class CustomerRepositoryIT {
     CustomerRepository customerRepository;
 
     @Test
-    void findCustomerIdByOidcUserId_CustomerExists_ReturnsCustomer() {
+    void findByOidcUserId_CustomerExists_ReturnsCustomer() {
         // given
         UUID oidcUserId = UUID.fromString("b49730a2-bf0a-4dd0-94d8-07d5b1e257a8");
 
         // when
-        Optional<UUID> id = this.customerRepository.findCustomerIdByOidcUserId(oidcUserId);
+        Optional<Customer> customer = this.customerRepository.findByOidcUserId(oidcUserId);
 
         // then
-        assertTrue(id.isPresent());
-        assertEquals(UUID.fromString("019c3b19-9a1f-45a7-b83c-5cb69289a309"), id.get());
+        assertEquals(Optional.of(new Customer(UUID.fromString("019c3b19-9a1f-45a7-b83c-5cb69289a309"), "andrey")),
+                customer);
     }
 
     @Test
-    void findCustomerIdByOidcUserId_CustomerDoesNotExist_ReturnsEmptyOptional() {
+    void findByOidcUserId_CustomerDoesNotExist_ReturnsEmptyOptional() {
         // given
         UUID oidcUserId = UUID.fromString("b49730a2-bf0a-4dd0-94d8-07d5b1e257a1");
 
         // when
-        Optional<UUID> id = this.customerRepository.findCustomerIdByOidcUserId(oidcUserId);
+        Optional<Customer> customer = this.customerRepository.findByOidcUserId(oidcUserId);
+
+        // then
+        assertTrue(customer.isEmpty());
+    }
+
+    @Test
+    void upsertCustomerAndOidcUser_OidcUserIsNotLinked_CreatesAndLinksCustomer() {
+        // given
+        UUID oidcUserId = UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9");
+
+        // when
+        Optional<UUID> id = this.customerRepository.upsertCustomerAndOidcUser(oidcUserId, "Artem");
+
+        // then
+        assertTrue(id.isPresent());
+        assertEquals(id, this.customerRepository.findByOidcUserId(oidcUserId).map(Customer::getId));
+        assertEquals(Optional.of(new Customer(id.get(), "Artem")), this.customerRepository.findById(id.get()));
+    }
+
+    @Test
+    void upsertCustomerAndOidcUser_OidcUserIsLinked_ReturnsCustomerIdAndKeepsUsername() {
+        // given
+        UUID oidcUserId = UUID.fromString("b49730a2-bf0a-4dd0-94d8-07d5b1e257a8");
+
+        // when
+        Optional<UUID> id = this.customerRepository.upsertCustomerAndOidcUser(oidcUserId, "andrey");
+
+        // then
+        assertEquals(Optional.of(UUID.fromString("019c3b19-9a1f-45a7-b83c-5cb69289a309")), id);
+        assertEquals(Optional.of(new Customer(UUID.fromString("019c3b19-9a1f-45a7-b83c-5cb69289a309"), "andrey")),
+                this.customerRepository.findById(id.get()));
+    }
+
+    @Test
+    void upsertCustomerAndOidcUser_UsernameHasChanged_UpdatesUsername() {
+        // given
+        UUID oidcUserId = UUID.fromString("b49730a2-bf0a-4dd0-94d8-07d5b1e257a8");
+
+        // when
+        Optional<UUID> id = this.customerRepository.upsertCustomerAndOidcUser(oidcUserId, "andrey.petrov");
+
+        // then
+        assertEquals(Optional.of(UUID.fromString("019c3b19-9a1f-45a7-b83c-5cb69289a309")), id);
+        assertEquals(Optional.of(new Customer(UUID.fromString("019c3b19-9a1f-45a7-b83c-5cb69289a309"), "andrey.petrov")),
+                this.customerRepository.findById(id.get()));
+    }
+
+    @Test
+    void upsertCustomerAndOidcUser_UsernameBelongsToAnotherCustomer_ReturnsEmptyOptional() {
+        // given
+        UUID oidcUserId = UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9");
+
+        // when
+        Optional<UUID> id = this.customerRepository.upsertCustomerAndOidcUser(oidcUserId, "andrey");
 
         // then
         assertTrue(id.isEmpty());
+        assertTrue(this.customerRepository.findByOidcUserId(oidcUserId).isEmpty());
     }
 }
\ No newline at end of file
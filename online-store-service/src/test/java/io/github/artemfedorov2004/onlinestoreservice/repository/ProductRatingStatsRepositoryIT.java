@@ -0,0 +1,54 @@
+package io.github.artemfedorov2004.onlinestoreservice.repository;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Sql("/sql/reviews.sql")
+@Transactional
+class ProductRatingStatsRepositoryIT {
+
+    @Autowired
+    ProductRatingStatsRepository productRatingStatsRepository;
+
+    @Test
+    void add_StatsExist_IncrementsCounters() {
+        // when
+        this.productRatingStatsRepository.add(new ProductRatingStats(1L, 2, 9, 0, 0, 0, 1, 1));
+
+        // then
+        assertEquals(new ProductRatingStats(1L, 6, 19, 1, 1, 1, 2, 1),
+                this.productRatingStatsRepository.findById(1L).orElseThrow());
+    }
+
+    @Test
+    @Sql(scripts = "/sql/reviews.sql",
+            statements = "insert into online_store.t_product (id, c_title, c_price) values (2, 'Зефир', 200)")
+    void add_StatsDoNotExist_CreatesStats() {
+        // when
+        this.productRatingStatsRepository.add(new ProductRatingStats(2L, 1, 3, 0, 0, 1, 0, 0));
+
+        // then
+        assertEquals(new ProductRatingStats(2L, 1, 3, 0, 0, 1, 0, 0),
+                this.productRatingStatsRepository.findById(2L).orElseThrow());
+    }
+
+    @Test
+    @Sql(scripts = "/sql/reviews.sql",
+            statements = "insert into online_store.t_product (id, c_title, c_price) values (2, 'Зефир', 200)")
+    void findAllById_ReturnsOnlyExistingStats() {
+        // when
+        List<ProductRatingStats> result = this.productRatingStatsRepository.findAllById(List.of(1L, 2L));
+
+        // then
+        assertEquals(List.of(new ProductRatingStats(1L, 4, 10, 1, 1, 1, 1, 0)), result);
+    }
+}
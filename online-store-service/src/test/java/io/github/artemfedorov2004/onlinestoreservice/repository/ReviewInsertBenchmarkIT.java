@@ -0,0 +1,78 @@
+package io.github.artemfedorov2004.onlinestoreservice.repository;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@Sql("/sql/reviews.sql")
+@Transactional
+class ReviewInsertBenchmarkIT {
+
+    private static final int REVIEWS_COUNT = 10_000;
+
+    @Autowired
+    ReviewRepository reviewRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_TenThousandReviews_InsertsInBatches() {
+        // given
+        Product product = this.entityManager.getReference(Product.class, 1L);
+        Customer customer = this.entityManager.getReference(Customer.class,
+                UUID.fromString("11dcb1eb-54a9-47e4-9fa0-c0cddbd62177"));
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<Review> reviews = IntStream.range(0, REVIEWS_COUNT)
+                .mapToObj(i -> Review.builder()
+                        .rating(i % 5 + 1)
+                        .forProduct(product)
+                        .createdBy(customer)
+                        .createdAt(createdAt)
+                        .comment("comment %d".formatted(i))
+                        .build())
+                .toList();
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        long startedAt = System.nanoTime();
+        this.reviewRepository.saveAll(reviews);
+        this.reviewRepository.flush();
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // then
+        log.info("Inserted {} reviews in {} ms ({} reviews/s), {} statements prepared",
+                REVIEWS_COUNT, durationMillis, REVIEWS_COUNT * 1000L / Math.max(durationMillis, 1),
+                statistics.getPrepareStatementCount());
+
+        assertEquals(REVIEWS_COUNT, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2 * REVIEWS_COUNT / 50 + 2);
+    }
+}
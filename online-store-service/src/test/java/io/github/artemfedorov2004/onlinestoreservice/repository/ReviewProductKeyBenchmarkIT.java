@@ -0,0 +1,190 @@
+package io.github.artemfedorov2004.onlinestoreservice.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@Sql("/sql/reviews.sql")
+@Transactional
+class ReviewProductKeyBenchmarkIT {
+
+    private static final int PRODUCTS_COUNT = 100;
+
+    private static final int REVIEWS_COUNT = 100_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int WARM_UP_COUNT = 100;
+
+    private static final int READS_COUNT = 1_000;
+
+    private static final int WRITES_COUNT = 1_000;
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("11dcb1eb-54a9-47e4-9fa0-c0cddbd62177");
+
+    private static final String JOIN_TABLES_PAGE_QUERY = """
+            select r.id from online_store.t_review r
+                     join online_store.t_product_review pr on pr.id_review = r.id
+                     join online_store.t_customer_review cr on cr.id_review = r.id
+                     join online_store.t_customer c on c.id = cr.id_customer
+            where pr.id_product = :productId
+            order by r.c_created_at desc, r.id desc
+            limit :limit
+            """;
+
+    private static final String PRODUCT_KEY_PAGE_QUERY = """
+            select r.id from online_store.t_review r
+                     join online_store.t_customer c on c.id = r.id_customer
+            where r.id_product = :productId
+            order by r.c_created_at desc, r.id desc
+            limit :limit
+            """;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        this.entityManager.createNativeQuery("""
+                        insert into online_store.t_product (id, c_title, c_price)
+                        select i, 'Товар №' || i, 100 from generate_series(2, :count) i
+                        """)
+                .setParameter("count", PRODUCTS_COUNT)
+                .executeUpdate();
+        this.entityManager.createNativeQuery("""
+                        insert into online_store.t_review (id_product, id_customer, c_rating, c_created_at, c_comment)
+                        select i % :products + 1, :customerId, i % 5 + 1,
+                               timestamp '2024-01-01' + i * interval '1 minute', 'comment ' || i
+                        from generate_series(1, :count) i
+                        """)
+                .setParameter("products", PRODUCTS_COUNT)
+                .setParameter("customerId", CUSTOMER_ID)
+                .setParameter("count", REVIEWS_COUNT)
+                .executeUpdate();
+        this.entityManager.createNativeQuery(
+                        "analyze online_store.t_review, online_store.t_product_review, online_store.t_customer_review")
+                .executeUpdate();
+    }
+
+    @Test
+    void readPage_JoinTablesAndProductKey_ReturnSamePage() {
+        // given
+        List<?> expectedPage = this.readPage(JOIN_TABLES_PAGE_QUERY, 1L);
+        this.measureMillis(WARM_UP_COUNT, i -> this.readPage(JOIN_TABLES_PAGE_QUERY, i % PRODUCTS_COUNT + 1L));
+        this.measureMillis(WARM_UP_COUNT, i -> this.readPage(PRODUCT_KEY_PAGE_QUERY, i % PRODUCTS_COUNT + 1L));
+
+        // when
+        long joinTablesMillis = this.measureMillis(READS_COUNT,
+                i -> this.readPage(JOIN_TABLES_PAGE_QUERY, i % PRODUCTS_COUNT + 1L));
+        long productKeyMillis = this.measureMillis(READS_COUNT,
+                i -> this.readPage(PRODUCT_KEY_PAGE_QUERY, i % PRODUCTS_COUNT + 1L));
+
+        // then
+        log.info("Read {} pages of {} reviews out of {}: join tables {} ms, t_review.id_product {} ms",
+                READS_COUNT, PAGE_SIZE, REVIEWS_COUNT, joinTablesMillis, productKeyMillis);
+
+        assertEquals(expectedPage, this.readPage(PRODUCT_KEY_PAGE_QUERY, 1L));
+        String plan = String.join("\n", this.entityManager.createNativeQuery("explain " + PRODUCT_KEY_PAGE_QUERY)
+                .setParameter("productId", 1L)
+                .setParameter("limit", PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(String::valueOf)
+                .toList());
+        assertTrue(plan.contains("t_review_product_created_at_idx"), plan);
+    }
+
+    @Test
+    void insertReview_JoinTablesAndProductKey_InsertsReviews() {
+        // given
+        this.entityManager.createNativeQuery(
+                "alter table online_store.t_review disable trigger t_review_sync_links").executeUpdate();
+        this.entityManager.createNativeQuery(
+                "alter table online_store.t_product_review disable trigger t_product_review_sync").executeUpdate();
+        this.entityManager.createNativeQuery(
+                "alter table online_store.t_customer_review disable trigger t_customer_review_sync").executeUpdate();
+        this.measureMillis(WARM_UP_COUNT, this::insertThroughJoinTables);
+        this.measureMillis(WARM_UP_COUNT, this::insertWithProductKey);
+
+        // when
+        long joinTablesMillis = this.measureMillis(WRITES_COUNT, this::insertThroughJoinTables);
+        long productKeyMillis = this.measureMillis(WRITES_COUNT, this::insertWithProductKey);
+
+        // then
+        log.info("Inserted {} reviews: join tables (3 statements each) {} ms, t_review.id_product (1 statement) {} ms",
+                WRITES_COUNT, joinTablesMillis, productKeyMillis);
+
+        assertEquals(REVIEWS_COUNT + 4L + WARM_UP_COUNT + WRITES_COUNT, ((Number) this.entityManager
+                .createNativeQuery("select count(*) from online_store.t_product_review")
+                .getSingleResult()).longValue());
+        assertEquals(REVIEWS_COUNT + 4L + 2L * (WARM_UP_COUNT + WRITES_COUNT), ((Number) this.entityManager
+                .createNativeQuery("select count(*) from online_store.t_review")
+                .getSingleResult()).longValue());
+    }
+
+    private List<?> readPage(String query, Long productId) {
+        return this.entityManager.createNativeQuery(query)
+                .setParameter("productId", productId)
+                .setParameter("limit", PAGE_SIZE)
+                .getResultList();
+    }
+
+    private void insertThroughJoinTables(int i) {
+        Number reviewId = (Number) this.entityManager.createNativeQuery("""
+                        insert into online_store.t_review (c_rating, c_created_at, c_comment)
+                        values (:rating, now(), 'comment') returning id
+                        """)
+                .setParameter("rating", i % 5 + 1)
+                .getSingleResult();
+        this.entityManager.createNativeQuery("""
+                        insert into online_store.t_product_review (id_product, id_review)
+                        values (:productId, :reviewId)
+                        """)
+                .setParameter("productId", i % PRODUCTS_COUNT + 1L)
+                .setParameter("reviewId", reviewId.longValue())
+                .executeUpdate();
+        this.entityManager.createNativeQuery("""
+                        insert into online_store.t_customer_review (id_customer, id_review)
+                        values (:customerId, :reviewId)
+                        """)
+                .setParameter("customerId", CUSTOMER_ID)
+                .setParameter("reviewId", reviewId.longValue())
+                .executeUpdate();
+    }
+
+    private void insertWithProductKey(int i) {
+        this.entityManager.createNativeQuery("""
+                        insert into online_store.t_review (id_product, id_customer, c_rating, c_created_at, c_comment)
+                        values (:productId, :customerId, :rating, now(), 'comment')
+                        """)
+                .setParameter("productId", i % PRODUCTS_COUNT + 1L)
+                .setParameter("customerId", CUSTOMER_ID)
+                .setParameter("rating", i % 5 + 1)
+                .executeUpdate();
+    }
+
+    private long measureMillis(int count, IntConsumer action) {
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            action.accept(i);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+}
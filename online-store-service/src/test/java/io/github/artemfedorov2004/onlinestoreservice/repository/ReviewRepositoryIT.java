@@ -1,7 +1,7 @@
 package io.github.artemfedorov2004.onlinestoreservice.repository;
 
 import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
-import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,13 +9,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 @Sql("/sql/reviews.sql")
@@ -25,31 +25,106 @@ class ReviewRepositoryIT {
     @Autowired
     ReviewRepository reviewRepository;
 
+    @Autowired
+    ProductRatingStatsRepository productRatingStatsRepository;
+
     @Test
-    void findAllByProductId_ReturnsReviews() {
+    void findAllProductReviewViews_ProductHasReviews_ReturnsReviewRows() {
         // given
-        Product product = new Product(1L, "Ананас", BigDecimal.valueOf(100));
-        Customer customer = new Customer(UUID.fromString("11dcb1eb-54a9-47e4-9fa0-c0cddbd62177"), "Artem");
+        UUID customerId = UUID.fromString("11dcb1eb-54a9-47e4-9fa0-c0cddbd62177");
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        List<Review> reviews = List.of(
-                new Review(1L, 1, product, customer,
-                        LocalDateTime.parse("2024-05-16 11:22:00", formatter),
-                        "advantages 1", "disadvantages 1", "comment 1"),
-                new Review(2L, 2, product, customer,
-                        LocalDateTime.parse("2024-05-15 12:23:00", formatter),
-                        "advantages 2", "disadvantages 2", "comment 2"),
-                new Review(3L, 3, product, customer,
-                        LocalDateTime.parse("2024-05-16 13:24:00", formatter),
-                        "advantages 3", "disadvantages 3", "comment 3"),
-                new Review(4L, 4, product, customer,
-                        LocalDateTime.parse("2024-05-17 14:25:00", formatter),
-                        "advantages 4", "disadvantages 4", "comment 4")
-        );
 
         // when
-        Iterable<Review> result = this.reviewRepository.findAllByProductId(1L);
+        List<ProductReviewView> result = this.reviewRepository.findAllProductReviewViews(1L);
+
+        // then
+        assertEquals(List.of(1L, 2L, 3L, 4L), result.stream().map(ProductReviewView::getId).toList());
+
+        ProductReviewView review = result.get(1);
+        assertEquals(1L, review.getProductId());
+        assertEquals(customerId, review.getCustomerId());
+        assertEquals("Artem", review.getCustomerUsername());
+        assertEquals(2, review.getRating());
+        assertEquals(LocalDateTime.parse("2024-05-15 12:23:00", formatter), review.getCreatedAt());
+        assertEquals("advantages 2", review.getAdvantages());
+        assertEquals("disadvantages 2", review.getDisadvantages());
+        assertEquals("comment 2", review.getComment());
+    }
+
+    @Test
+    @Sql(scripts = "/sql/reviews.sql",
+            statements = "insert into online_store.t_product (id, c_title, c_price) values (2, 'Зефир', 200)")
+    void findAllProductReviewViews_ProductHasNoReviews_ReturnsProductOnlyRow() {
+        // when
+        List<ProductReviewView> result = this.reviewRepository.findAllProductReviewViews(2L);
+
+        // then
+        assertEquals(1, result.size());
+        assertEquals(2L, result.getFirst().getProductId());
+        assertNull(result.getFirst().getId());
+    }
+
+    @Test
+    void findAllProductReviewViews_ProductDoesNotExist_ReturnsEmptyList() {
+        // when
+        List<ProductReviewView> result = this.reviewRepository.findAllProductReviewViews(100L);
+
+        // then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void insertProductReview_ProductExists_InsertsReviewAndUpdatesRatingStats() {
+        // given
+        Customer customer = new Customer(UUID.fromString("11dcb1eb-54a9-47e4-9fa0-c0cddbd62177"), "Artem");
+        LocalDateTime createdAt = LocalDateTime.parse("2024-05-18T10:00:00");
+        Review review = Review.builder()
+                .rating(3)
+                .createdBy(customer)
+                .createdAt(createdAt)
+                .advantages("advantages")
+                .comment("comment")
+                .build();
+
+        // when
+        Optional<ProductReviewView> result = this.reviewRepository.insertProductReview(1L, review);
+
+        // then
+        assertTrue(result.isPresent());
+        ProductReviewView created = result.get();
+        assertNotNull(created.getId());
+        assertEquals(1L, created.getProductId());
+        assertEquals(customer.getId(), created.getCustomerId());
+        assertEquals("Artem", created.getCustomerUsername());
+        assertEquals(3, created.getRating());
+        assertEquals(createdAt, created.getCreatedAt());
+        assertEquals("advantages", created.getAdvantages());
+        assertNull(created.getDisadvantages());
+        assertEquals("comment", created.getComment());
+
+        assertEquals(5, this.reviewRepository.findAllProductReviewViews(1L).size());
+
+        ProductRatingStats stats = this.productRatingStatsRepository.findById(1L).orElseThrow();
+        assertEquals(5L, stats.getCount());
+        assertEquals(13L, stats.getSum());
+        assertEquals(2L, stats.getRating3());
+    }
+
+    @Test
+    void insertProductReview_ProductDoesNotExist_ReturnsEmptyAndInsertsNothing() {
+        // given
+        Review review = Review.builder()
+                .rating(3)
+                .createdBy(new Customer(UUID.fromString("11dcb1eb-54a9-47e4-9fa0-c0cddbd62177"), "Artem"))
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        // when
+        Optional<ProductReviewView> result = this.reviewRepository.insertProductReview(100L, review);
 
         // then
-        assertEquals(reviews, result);
+        assertTrue(result.isEmpty());
+        assertEquals(4L, this.reviewRepository.count());
+        assertTrue(this.productRatingStatsRepository.findById(100L).isEmpty());
     }
-}
\ No newline at end of file
+}
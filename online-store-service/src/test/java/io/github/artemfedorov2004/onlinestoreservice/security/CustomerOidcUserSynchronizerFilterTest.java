@@ -0,0 +1,122 @@
+package io.github.artemfedorov2004.onlinestoreservice.security;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
+import io.github.artemfedorov2004.onlinestoreservice.service.CurrentCustomerHolder;
+import io.github.artemfedorov2004.onlinestoreservice.service.CustomerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerOidcUserSynchronizerFilterTest {
+
+    @Mock
+    CustomerService customerService;
+
+    @Mock
+    CurrentCustomerHolder currentCustomerHolder;
+
+    SimpleMeterRegistry meterRegistry;
+
+    CustomerOidcUserSynchronizerFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.filter = new CustomerOidcUserSynchronizerFilter(this.customerService,
+                new CustomerSyncStateCache(this.meterRegistry, 100, Duration.ofMinutes(5)), this.currentCustomerHolder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_CustomerIsNotAuthenticated_DoesNotSyncCustomer() throws Exception {
+        // given
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key",
+                "anonymousUser", List.of(new SimpleGrantedAuthority("ROLE_ANONYMOUS"))));
+
+        // when
+        this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        verifyNoInteractions(this.customerService);
+        verifyNoInteractions(this.currentCustomerHolder);
+    }
+
+    @Test
+    void doFilter_CustomerIsAlreadySynced_DoesNotSyncCustomerAgain() throws Exception {
+        // given
+        JwtAuthenticationToken token = token("Artem");
+        doReturn(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"))
+                .when(this.customerService).syncCustomerAndOidcUser(token);
+
+        // when
+        SecurityContextHolder.getContext().setAuthentication(token);
+        this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        verify(this.customerService).syncCustomerAndOidcUser(token);
+        verifyNoMoreInteractions(this.customerService);
+
+        assertEquals(1, this.meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1, this.meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+
+        verify(this.currentCustomerHolder, times(2))
+                .setCustomer(new Customer(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"), "Artem"));
+    }
+
+    @Test
+    void doFilter_UsernameHasChanged_SyncsCustomerAgain() throws Exception {
+        // given
+        JwtAuthenticationToken token = token("Artem");
+        JwtAuthenticationToken renamedToken = token("Artem Fedorov");
+        doReturn(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"))
+                .when(this.customerService).syncCustomerAndOidcUser(any());
+
+        // when
+        SecurityContextHolder.getContext().setAuthentication(token);
+        this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.getContext().setAuthentication(renamedToken);
+        this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        verify(this.customerService).syncCustomerAndOidcUser(token);
+        verify(this.customerService).syncCustomerAndOidcUser(renamedToken);
+        verifyNoMoreInteractions(this.customerService);
+
+        verify(this.currentCustomerHolder)
+                .setCustomer(new Customer(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"), "Artem Fedorov"));
+    }
+
+    private static JwtAuthenticationToken token(String username) {
+        return new JwtAuthenticationToken(
+                new Jwt("token", Instant.now(), Instant.MAX,
+                        Map.of("header", new Object()), Map.of("preferred_username", username)),
+                null, "7bd41e94-f9f7-4244-90c9-1eced9671ef9");
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeNotificationListenerTest {
+
+    @Mock
+    DataSourceProperties dataSourceProperties;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    ChangeNotificationListener listener;
+
+    @Test
+    void handle_ProductNotification_PublishesProductChangedEvent() {
+        // when
+        this.listener.handle("product:1");
+
+        // then
+        verify(this.eventPublisher).publishEvent(new ProductChangedEvent(1L));
+        verifyNoMoreInteractions(this.eventPublisher);
+    }
+
+    @Test
+    void handle_ReviewsNotification_PublishesProductReviewsChangedEvent() {
+        // when
+        this.listener.handle("reviews:2");
+
+        // then
+        verify(this.eventPublisher).publishEvent(new ProductReviewsChangedEvent(2L));
+        verifyNoMoreInteractions(this.eventPublisher);
+    }
+
+    @Test
+    void handle_ProductsNotification_PublishesProductsImportedEvent() {
+        // when
+        this.listener.handle("products");
+
+        // then
+        verify(this.eventPublisher).publishEvent(new ProductsImportedEvent());
+        verifyNoMoreInteractions(this.eventPublisher);
+    }
+
+    @Test
+    void handle_MalformedNotification_PublishesNothing() {
+        // when
+        this.listener.handle("product:abc");
+        this.listener.handle("product");
+        this.listener.handle("customer:1");
+
+        // then
+        verifyNoInteractions(this.eventPublisher);
+    }
+}
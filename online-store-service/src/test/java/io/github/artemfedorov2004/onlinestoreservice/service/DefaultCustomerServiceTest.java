@@ -28,103 +28,79 @@ class DefaultCustomerServiceTest {
     @Mock
     CustomerRepository customerRepository;
 
+    @Mock
+    CurrentCustomerHolder currentCustomerHolder;
+
     @InjectMocks
     DefaultCustomerService service;
 
     @Test
-    void syncCustomerAndOidcUser_CustomerWithGivenOidcUserIdIsNotExist_SaveCustomer() {
+    void syncCustomerAndOidcUser_UpsertReturnsCustomerId_ReturnsCustomerId() {
         // given
         JwtAuthenticationToken token = new JwtAuthenticationToken(
                 new Jwt("token", Instant.now(), Instant.MAX,
                         Map.of("header", new Object()), Map.of("preferred_username", "Artem")),
                 null, "7bd41e94-f9f7-4244-90c9-1eced9671ef9");
 
-        doReturn(Optional.empty())
-                .when(this.customerRepository).findCustomerIdByOidcUserId(
-                        UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
-                );
-
-        Customer customer = new Customer(null, "Artem");
-        Customer saved = new Customer(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"), "Artem");
-        doReturn(saved).when(this.customerRepository).save(customer);
-
-        doNothing().when(this.customerRepository).linkCustomerIdAndOidcUserId(
-                UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"),
-                UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
-        );
+        doReturn(Optional.of(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")))
+                .when(this.customerRepository).upsertCustomerAndOidcUser(
+                        UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9"), "Artem");
 
         // when
-        this.service.syncCustomerAndOidcUser(token);
+        UUID result = this.service.syncCustomerAndOidcUser(token);
 
         // then
-        verify(this.customerRepository).save(customer);
-        verify(this.customerRepository).linkCustomerIdAndOidcUserId(
-                UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"),
-                UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
-        );
+        assertEquals(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"), result);
+
+        verify(this.customerRepository).upsertCustomerAndOidcUser(
+                UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9"), "Artem");
+        verifyNoMoreInteractions(this.customerRepository);
     }
 
     @Test
-    void syncCustomerAndOidcUser_GivenOidcUserIdExistsInDatabaseAndCustomerWithGivenIdDoesNotExist_ThrowsRuntimeException() {
+    void syncCustomerAndOidcUser_ConcurrentLoginLinkedCustomerFirst_RetriesUpsertAndReturnsCustomerId() {
         // given
         JwtAuthenticationToken token = new JwtAuthenticationToken(
                 new Jwt("token", Instant.now(), Instant.MAX,
                         Map.of("header", new Object()), Map.of("preferred_username", "Artem")),
                 null, "7bd41e94-f9f7-4244-90c9-1eced9671ef9");
 
-        doReturn(Optional.of(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")))
-                .when(this.customerRepository).findCustomerIdByOidcUserId(
-                        UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
-                );
-
-        doThrow(new RuntimeException("Relation t_customer does not contain customer with id - bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"))
-                .when(this.customerRepository).findById(
-                        UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"));
+        doReturn(Optional.empty(), Optional.of(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")))
+                .when(this.customerRepository).upsertCustomerAndOidcUser(
+                        UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9"), "Artem");
 
         // when
-        var exception = assertThrows(RuntimeException.class, () -> this.service.syncCustomerAndOidcUser(token));
+        UUID result = this.service.syncCustomerAndOidcUser(token);
 
         // then
-        assertEquals("Relation t_customer does not contain customer with id - bd3c12bd-9ec9-44d9-8c60-b035dbcfd061",
-                exception.getMessage());
+        assertEquals(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"), result);
 
-        verify(this.customerRepository).findCustomerIdByOidcUserId(
-                UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
-        );
-        verify(this.customerRepository).findById(
-                UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")
-        );
+        verify(this.customerRepository, times(2)).upsertCustomerAndOidcUser(
+                UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9"), "Artem");
         verifyNoMoreInteractions(this.customerRepository);
     }
 
     @Test
-    void syncCustomerAndOidcUser_GivenOidcUserIdExistsInDatabaseAndCustomerWithGivenIdExists_UpdatesCustomerName() {
+    void syncCustomerAndOidcUser_UsernameIsTakenByAnotherCustomer_ThrowsRuntimeException() {
         // given
         JwtAuthenticationToken token = new JwtAuthenticationToken(
                 new Jwt("token", Instant.now(), Instant.MAX,
                         Map.of("header", new Object()), Map.of("preferred_username", "Artem")),
                 null, "7bd41e94-f9f7-4244-90c9-1eced9671ef9");
 
-        doReturn(Optional.of(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")))
-                .when(this.customerRepository).findCustomerIdByOidcUserId(
-                        UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
-                );
-
-        Customer customer = new Customer(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"), "Artem");
-        doReturn(Optional.of(customer)).when(this.customerRepository).findById(
-                UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")
-        );
+        doReturn(Optional.empty())
+                .when(this.customerRepository).upsertCustomerAndOidcUser(
+                        UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9"), "Artem");
 
         // when
-        this.service.syncCustomerAndOidcUser(token);
+        var exception = assertThrows(RuntimeException.class, () -> this.service.syncCustomerAndOidcUser(token));
 
         // then
-        verify(this.customerRepository).findCustomerIdByOidcUserId(
-                UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
-        );
-        verify(this.customerRepository).findById(
-                UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")
-        );
+        assertEquals("Customer with username - Artem can not be linked to oidcUserId - " +
+                "7bd41e94-f9f7-4244-90c9-1eced9671ef9", exception.getMessage());
+
+        verify(this.customerRepository, times(2)).upsertCustomerAndOidcUser(
+                UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9"), "Artem");
         verifyNoMoreInteractions(this.customerRepository);
     }
 
@@ -151,14 +127,9 @@ class DefaultCustomerServiceTest {
                 null, "7bd41e94-f9f7-4244-90c9-1eced9671ef9");
         SecurityContextHolder.getContext().setAuthentication(token);
 
-        doReturn(Optional.of(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")))
-                .when(this.customerRepository).findCustomerIdByOidcUserId(
-                        UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
-                );
-
         Customer customer = new Customer(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"), "Artem");
-        doReturn(Optional.of(customer)).when(this.customerRepository).findById(
-                UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")
+        doReturn(Optional.of(customer)).when(this.customerRepository).findByOidcUserId(
+                UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
         );
 
         // when
@@ -166,10 +137,19 @@ class DefaultCustomerServiceTest {
 
         // then
         assertEquals(customer, result);
+
+        verify(this.customerRepository).findByOidcUserId(
+                UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
+        );
+        verifyNoMoreInteractions(this.customerRepository);
+
+        verify(this.currentCustomerHolder).getCustomer();
+        verify(this.currentCustomerHolder).setCustomer(customer);
+        verifyNoMoreInteractions(this.currentCustomerHolder);
     }
 
     @Test
-    void getCurrentCustomer_CustomerIsAuthenticatedAndCustomerWithGivenIdDoesNotExist_ThrowsRuntimeException() {
+    void getCurrentCustomer_CustomerIsAlreadyResolvedForRequest_ReturnsCustomerWithoutQuery() {
         // given
         JwtAuthenticationToken token = new JwtAuthenticationToken(
                 new Jwt("token", Instant.now(), Instant.MAX,
@@ -177,30 +157,16 @@ class DefaultCustomerServiceTest {
                 null, "7bd41e94-f9f7-4244-90c9-1eced9671ef9");
         SecurityContextHolder.getContext().setAuthentication(token);
 
-        doReturn(Optional.of(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")))
-                .when(this.customerRepository).findCustomerIdByOidcUserId(
-                        UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
-                );
-
-
-        doReturn(Optional.empty()).when(this.customerRepository).findById(
-                UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")
-        );
+        Customer customer = new Customer(UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061"), "Artem");
+        doReturn(customer).when(this.currentCustomerHolder).getCustomer();
 
         // when
-        var exception = assertThrows(RuntimeException.class, () -> this.service.getCurrentCustomer());
+        Customer result = this.service.getCurrentCustomer();
 
         // then
-        assertEquals("Relation t_customer does not contain customer with id - " +
-                "bd3c12bd-9ec9-44d9-8c60-b035dbcfd061", exception.getMessage());
+        assertEquals(customer, result);
 
-        verify(this.customerRepository).findCustomerIdByOidcUserId(
-                UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
-        );
-        verify(this.customerRepository).findById(
-                UUID.fromString("bd3c12bd-9ec9-44d9-8c60-b035dbcfd061")
-        );
-        verifyNoMoreInteractions(this.customerRepository);
+        verifyNoInteractions(this.customerRepository);
     }
 
     @Test
@@ -213,7 +179,7 @@ class DefaultCustomerServiceTest {
         SecurityContextHolder.getContext().setAuthentication(token);
 
         doReturn(Optional.empty())
-                .when(this.customerRepository).findCustomerIdByOidcUserId(
+                .when(this.customerRepository).findByOidcUserId(
                         UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
                 );
 
@@ -224,7 +190,7 @@ class DefaultCustomerServiceTest {
         assertEquals("Customer with given oidcUserId " +
                 "- 7bd41e94-f9f7-4244-90c9-1eced9671ef9 not found", exception.getMessage());
 
-        verify(this.customerRepository).findCustomerIdByOidcUserId(
+        verify(this.customerRepository).findByOidcUserId(
                 UUID.fromString("7bd41e94-f9f7-4244-90c9-1eced9671ef9")
         );
         verifyNoMoreInteractions(this.customerRepository);
@@ -0,0 +1,92 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.entity.ProductRatingStats;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import io.github.artemfedorov2004.onlinestoreservice.exception.ResourceNotFoundException;
+import io.github.artemfedorov2004.onlinestoreservice.repository.ReviewRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultProductPageServiceTest {
+
+    @Mock
+    ProductService productService;
+
+    @Mock
+    ProductRatingStatsService productRatingStatsService;
+
+    @Mock
+    ReviewRepository reviewRepository;
+
+    @InjectMocks
+    DefaultProductPageService service;
+
+    @Test
+    void getProductPage_ProductExists_ReturnsProductRatingStatsAndReviews() {
+        // given
+        Product product = new Product(1L, "title", BigDecimal.valueOf(1000));
+        Customer customer = new Customer(UUID.randomUUID(), "Artem");
+        List<Review> reviews = LongStream.range(1, 3)
+                .mapToObj(i -> new Review(i, (int) i, product, customer,
+                        LocalDateTime.now(), "advantages " + i, "disadvantages " + i, "comment " + i))
+                .toList();
+        Window<Review> window = Window.from(reviews, ScrollPosition::offset, true);
+        ProductRatingStats ratingStats = new ProductRatingStats(1L, 2, 3, 1, 1, 0, 0, 0);
+
+        doReturn(product).when(this.productService).getProduct(1L);
+        doReturn(ratingStats).when(this.productRatingStatsService).getProductRatingStats(1L);
+        doReturn(window).when(this.reviewRepository).findAllByForProductId(1L, ScrollPosition.keyset(),
+                ReviewSort.NEWEST.toSort(), Limit.of(2));
+
+        // when
+        ProductPage result = this.service.getProductPage(1L, ReviewSort.NEWEST, ScrollPosition.keyset(), 2);
+
+        // then
+        assertEquals(new ProductPage(product, ratingStats, window), result);
+
+        verify(this.productService).getProduct(1L);
+        verifyNoMoreInteractions(this.productService);
+
+        verify(this.productRatingStatsService).getProductRatingStats(1L);
+        verifyNoMoreInteractions(this.productRatingStatsService);
+
+        verify(this.reviewRepository).findAllByForProductId(1L, ScrollPosition.keyset(),
+                ReviewSort.NEWEST.toSort(), Limit.of(2));
+        verifyNoMoreInteractions(this.reviewRepository);
+    }
+
+    @Test
+    void getProductPage_ProductDoesNotExist_ThrowsResourceNotFoundException() {
+        // given
+        doThrow(new ResourceNotFoundException("online_store.errors.product.not_found"))
+                .when(this.productService).getProduct(10L);
+
+        // when
+        var exception = assertThrows(ResourceNotFoundException.class,
+                () -> this.service.getProductPage(10L, ReviewSort.NEWEST, ScrollPosition.keyset(), 20));
+
+        // then
+        assertEquals("online_store.errors.product.not_found", exception.getMessage());
+
+        verifyNoInteractions(this.productRatingStatsService);
+        verifyNoInteractions(this.reviewRepository);
+    }
+}
@@ -5,13 +5,20 @@ import io.github.artemfedorov2004.onlinestoreservice.controller.payload.UpdatePr
 import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
 import io.github.artemfedorov2004.onlinestoreservice.exception.ResourceNotFoundException;
 import io.github.artemfedorov2004.onlinestoreservice.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.LongStream;
@@ -26,6 +33,15 @@ public class DefaultProductServiceTest {
     @Mock
     ProductRepository productRepository;
 
+    @Mock
+    ProductCache productCache;
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     DefaultProductService service;
 
@@ -48,12 +64,75 @@ public class DefaultProductServiceTest {
         verifyNoMoreInteractions(this.productRepository);
     }
 
+    @Test
+    void getProductsByIds_ReturnsProductsFoundInSingleQuery() {
+        // given
+        List<Product> products = LongStream.range(1, 3)
+                .mapToObj(i -> new Product(i, "Продукт №%d".formatted(i), new BigDecimal(100 * i)))
+                .toList();
+
+        doReturn(products).when(this.productRepository).findAllByIds(new Long[]{1L, 2L, 3L});
+
+        // when
+        List<Product> result = this.service.getProductsByIds(List.of(1L, 2L, 3L));
+
+        // then
+        assertEquals(products, result);
+
+        verify(this.productRepository).findAllByIds(new Long[]{1L, 2L, 3L});
+        verifyNoMoreInteractions(this.productRepository);
+    }
+
+    @Test
+    void getProducts_ReturnsProductsWindow() {
+        // given
+        List<Product> products = LongStream.range(1, 4)
+                .mapToObj(i -> new Product(i, "Продукт №%d".formatted(i), new BigDecimal(100 * i)))
+                .toList();
+        Window<Product> window = Window.from(products, ScrollPosition::offset);
+
+        doReturn(window).when(this.productRepository)
+                .findAllBy(ScrollPosition.keyset(), Sort.by("price", "id"), Limit.of(3));
+
+        // when
+        Window<Product> result = this.service.getProducts(ProductSort.PRICE, ScrollPosition.keyset(), 3);
+
+        // then
+        assertEquals(window, result);
+
+        verify(this.productRepository).findAllBy(ScrollPosition.keyset(), Sort.by("price", "id"), Limit.of(3));
+        verifyNoMoreInteractions(this.productRepository);
+    }
+
+    @Test
+    void forEachProduct_PassesAndDetachesEveryProduct() {
+        // given
+        List<Product> products = LongStream.range(1, 4)
+                .mapToObj(i -> new Product(i, "Продукт №%d".formatted(i), new BigDecimal(100 * i)))
+                .toList();
+        List<Product> result = new ArrayList<>();
+
+        doReturn(products.stream()).when(this.productRepository).streamAllByOrderById();
+
+        // when
+        this.service.forEachProduct(result::add);
+
+        // then
+        assertEquals(products, result);
+
+        verify(this.productRepository).streamAllByOrderById();
+        verifyNoMoreInteractions(this.productRepository);
+
+        products.forEach(product -> verify(this.entityManager).detach(product));
+        verifyNoMoreInteractions(this.entityManager);
+    }
+
     @Test
     void getProduct_ProductExists_ReturnsExistingProduct() {
         // given
         Product product = new Product(1L, "Товар №1", new BigDecimal(1000));
 
-        doReturn(Optional.of(product)).when(this.productRepository).findById(1L);
+        doReturn(Optional.of(product)).when(this.productCache).findProduct(1L);
 
         // when
         var result = this.service.getProduct(1L);
@@ -62,28 +141,31 @@ public class DefaultProductServiceTest {
         assertNotNull(result);
         assertEquals(product, result);
 
-        verify(this.productRepository).findById(1L);
-        verifyNoMoreInteractions(this.productRepository);
+        verify(this.productCache).findProduct(1L);
+        verifyNoMoreInteractions(this.productCache);
+        verifyNoInteractions(this.productRepository);
     }
 
     @Test
     void getProduct_ProductDoesNotExist_ThrowsResourceNotFoundException() {
         // given
-        doReturn(Optional.empty()).when(this.productRepository).findById(10L);
+        doReturn(Optional.empty()).when(this.productCache).findProduct(10L);
 
         // when
         assertThrows(ResourceNotFoundException.class, () -> this.service
                 .getProduct(10L));
 
         // then
-        verify(this.productRepository).findById(10L);
-        verifyNoMoreInteractions(this.productRepository);
+        verify(this.productCache).findProduct(10L);
+        verifyNoMoreInteractions(this.productCache);
+        verifyNoInteractions(this.productRepository);
     }
 
     @Test
     void existsProductById_ReturnsBoolean() {
         // given
-        doReturn(true).when(this.productRepository).existsById(1L);
+        doReturn(Optional.of(new Product(1L, "Товар №1", new BigDecimal(1000))))
+                .when(this.productCache).findProduct(1L);
 
         // when
         boolean result = this.service.existsProductById(1L);
@@ -91,8 +173,9 @@ public class DefaultProductServiceTest {
         // then
         assertTrue(result);
 
-        verify(this.productRepository).existsById(1L);
-        verifyNoMoreInteractions(this.productRepository);
+        verify(this.productCache).findProduct(1L);
+        verifyNoMoreInteractions(this.productCache);
+        verifyNoInteractions(this.productRepository);
     }
 
     @Test
@@ -112,6 +195,10 @@ public class DefaultProductServiceTest {
 
         verify(this.productRepository).save(new Product(null, "Новый товар", BigDecimal.valueOf(999.99)));
         verifyNoMoreInteractions(this.productRepository);
+
+        verify(this.eventPublisher).publishEvent(new ProductChangedEvent(1L));
+        verifyNoMoreInteractions(this.eventPublisher);
+        verifyNoInteractions(this.productCache);
     }
 
     @Test
@@ -128,8 +215,14 @@ public class DefaultProductServiceTest {
         this.service.updateProduct(productId, payload);
 
         // then
+        assertEquals(new Product(1L, "Новое название", BigDecimal.valueOf(1999.99)), product);
+
         verify(this.productRepository).findById(productId);
         verifyNoMoreInteractions(this.productRepository);
+
+        verify(this.eventPublisher).publishEvent(new ProductChangedEvent(productId));
+        verifyNoMoreInteractions(this.eventPublisher);
+        verifyNoInteractions(this.productCache);
     }
 
     @Test
@@ -149,6 +242,8 @@ public class DefaultProductServiceTest {
         // then
         verify(this.productRepository).findById(productId);
         verifyNoMoreInteractions(this.productRepository);
+        verifyNoInteractions(this.productCache);
+        verifyNoInteractions(this.eventPublisher);
     }
 
     @Test
@@ -162,5 +257,10 @@ public class DefaultProductServiceTest {
         // then
         verify(this.productRepository).deleteById(productId);
         verifyNoMoreInteractions(this.productRepository);
+
+        verify(this.eventPublisher).publishEvent(new ProductChangedEvent(productId));
+        verify(this.eventPublisher).publishEvent(new ProductReviewsChangedEvent(productId));
+        verifyNoMoreInteractions(this.eventPublisher);
+        verifyNoInteractions(this.productCache);
     }
 }
@@ -4,20 +4,30 @@ import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
 import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
 import io.github.artemfedorov2004.onlinestoreservice.exception.ResourceNotFoundException;
+import io.github.artemfedorov2004.onlinestoreservice.repository.ProductReviewView;
 import io.github.artemfedorov2004.onlinestoreservice.repository.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -33,18 +43,31 @@ class DefaultReviewServiceTest {
     @Mock
     ProductService productService;
 
+    @Mock
+    ProductRatingStatsService productRatingStatsService;
+
+    @Mock
+    ReviewIngestionQueue reviewIngestionQueue;
+
+    @Mock
+    ReviewSubmissionService reviewSubmissionService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    SingleFlight<Long, List<Review>> productReviewsSingleFlight =
+            new SingleFlight<>("product-reviews", new SimpleMeterRegistry());
+
     @InjectMocks
     DefaultReviewService service;
 
     @Test
-    void createReview_ReturnsReview() {
+    void createReview_ProductExists_ReturnsCreatedReview() {
         // given
         Customer currentCustomer = new Customer(UUID.randomUUID(), "Andrey");
         doReturn(currentCustomer).when(this.customerService).getCurrentCustomer();
 
-        Product product = new Product(1L, "title", BigDecimal.valueOf(1000));
-        doReturn(product).when(this.productService).getProduct(1L);
-
         Review review = Review.builder()
                 .rating(2)
                 .advantages("advantages")
@@ -52,70 +75,308 @@ class DefaultReviewServiceTest {
                 .comment("comment")
                 .build();
 
-        Review expected = Review.builder()
-                .id(1L)
-                .rating(2)
-                .createdAt(LocalDateTime.now())
-                .forProduct(product)
-                .createdBy(currentCustomer)
-                .advantages("advantages")
-                .disadvantages("disadvantages")
-                .comment("comment")
-                .build();
-        doReturn(expected).when(this.reviewRepository).save(review);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 16, 11, 22);
+        doReturn(Optional.of(reviewView(54L, currentCustomer, createdAt)))
+                .when(this.reviewRepository).insertProductReview(1L, review);
 
         // when
         Review result = this.service.createReview(1L, review);
 
         // then
-        assertEquals(expected, result);
+        assertEquals(new Review(54L, 54, null, currentCustomer, createdAt,
+                "advantages 54", "disadvantages 54", "comment 54"), result);
+        assertEquals(currentCustomer, review.getCreatedBy());
+        assertNotNull(review.getCreatedAt());
+
+        verify(this.reviewRepository).insertProductReview(1L, review);
+        verifyNoMoreInteractions(this.reviewRepository);
 
         verify(this.customerService).getCurrentCustomer();
         verifyNoMoreInteractions(this.customerService);
 
-        verify(this.productService).getProduct(1L);
-        verifyNoMoreInteractions(this.productService);
+        verify(this.eventPublisher).publishEvent(new ProductReviewsChangedEvent(1L));
+        verifyNoMoreInteractions(this.eventPublisher);
+
+        verifyNoInteractions(this.productService);
+        verifyNoInteractions(this.productRatingStatsService);
+    }
+
+    @Test
+    void createReview_ProductDoesNotExist_ThrowsResourceNotFoundException() {
+        // given
+        Customer currentCustomer = new Customer(UUID.randomUUID(), "Andrey");
+        doReturn(currentCustomer).when(this.customerService).getCurrentCustomer();
+
+        Review review = Review.builder()
+                .rating(2)
+                .build();
+
+        doReturn(Optional.empty()).when(this.reviewRepository).insertProductReview(1L, review);
+
+        // when
+        var exception = assertThrows(ResourceNotFoundException.class, () -> this.service.createReview(1L, review));
+
+        // then
+        assertEquals("online_store.errors.product.not_found", exception.getMessage());
+
+        verify(this.reviewRepository).insertProductReview(1L, review);
+        verifyNoMoreInteractions(this.reviewRepository);
+
+        verifyNoInteractions(this.eventPublisher);
+    }
+
+    @Test
+    void submitReview_EnqueuesPreparedReview() {
+        // given
+        Customer currentCustomer = new Customer(UUID.randomUUID(), "Andrey");
+        doReturn(currentCustomer).when(this.customerService).getCurrentCustomer();
+
+        Product product = new Product(1L, "title", BigDecimal.valueOf(1000));
+        doReturn(product).when(this.productService).getProduct(1L);
+
+        Review review = Review.builder()
+                .rating(2)
+                .comment("comment")
+                .build();
+
+        // when
+        UUID trackingId = this.service.submitReview(1L, review);
+
+        // then
+        assertNotNull(trackingId);
+        assertEquals(product, review.getForProduct());
+        assertEquals(currentCustomer, review.getCreatedBy());
+        assertNotNull(review.getCreatedAt());
+
+        verify(this.reviewIngestionQueue).submit(new PendingReview(trackingId, review));
+        verifyNoMoreInteractions(this.reviewIngestionQueue);
+
+        verifyNoInteractions(this.reviewRepository);
+        verifyNoInteractions(this.productRatingStatsService);
+    }
+
+    @Test
+    void createReviews_SavesReviewsAndAddsRatingsPerProduct() {
+        // given
+        Product firstProduct = new Product(1L, "first", BigDecimal.valueOf(1000));
+        Product secondProduct = new Product(2L, "second", BigDecimal.valueOf(2000));
+        List<Review> reviews = List.of(
+                Review.builder().rating(5).forProduct(firstProduct).build(),
+                Review.builder().rating(3).forProduct(secondProduct).build(),
+                Review.builder().rating(4).forProduct(firstProduct).build());
+        List<PendingReview> pendingReviews = reviews.stream()
+                .map(review -> new PendingReview(UUID.randomUUID(), review))
+                .toList();
+
+        // when
+        this.service.createReviews(pendingReviews);
+
+        // then
+        verify(this.reviewRepository).saveAll(reviews);
+        verifyNoMoreInteractions(this.reviewRepository);
+
+        verify(this.reviewSubmissionService).recordCreated(pendingReviews);
+        verifyNoMoreInteractions(this.reviewSubmissionService);
+
+        verify(this.productRatingStatsService).addRatings(1L, List.of(5, 4));
+        verify(this.productRatingStatsService).addRatings(2L, List.of(3));
+        verifyNoMoreInteractions(this.productRatingStatsService);
+
+        verify(this.eventPublisher).publishEvent(new ProductReviewsChangedEvent(1L));
+        verify(this.eventPublisher).publishEvent(new ProductReviewsChangedEvent(2L));
+        verifyNoMoreInteractions(this.eventPublisher);
+    }
+
+    @Test
+    void createReviews_SavesNewReviewsAndLeavesPendingReviewsUnchanged() {
+        // given
+        Product product = new Product(1L, "first", BigDecimal.valueOf(1000));
+        PendingReview pendingReview = new PendingReview(UUID.randomUUID(),
+                Review.builder().rating(5).forProduct(product).build());
+        doAnswer(invocation -> {
+            List<Review> reviews = invocation.getArgument(0);
+            reviews.forEach(review -> review.setId(54L));
+            return reviews;
+        }).when(this.reviewRepository).saveAll(anyList());
+
+        // when
+        this.service.createReviews(List.of(pendingReview));
+
+        // then
+        assertNull(pendingReview.review().getId());
+
+        verify(this.reviewSubmissionService).recordCreated(List.of(new PendingReview(pendingReview.trackingId(),
+                new Review(54L, 5, product, null, null, null, null, null))));
+        verifyNoMoreInteractions(this.reviewSubmissionService);
+    }
+
+    @Test
+    void getReviewSubmission_ReviewIsPending_ReturnsPendingSubmission() {
+        // given
+        UUID trackingId = UUID.randomUUID();
+        Review review = Review.builder()
+                .rating(5)
+                .forProduct(new Product(1L, "title", BigDecimal.valueOf(1000)))
+                .build();
+        doReturn(Optional.of(new PendingReview(trackingId, review))).when(this.reviewIngestionQueue)
+                .findPending(trackingId);
+
+        // when
+        ReviewSubmission result = this.service.getReviewSubmission(1L, trackingId);
+
+        // then
+        assertEquals(new ReviewSubmission(trackingId, 1L, ReviewSubmissionStatus.PENDING, null), result);
+
+        verifyNoInteractions(this.reviewSubmissionService);
+    }
+
+    @Test
+    void getReviewSubmission_SubmissionIsStored_ReturnsStoredSubmission() {
+        // given
+        UUID trackingId = UUID.randomUUID();
+        ReviewSubmission submission = new ReviewSubmission(trackingId, 1L, ReviewSubmissionStatus.CREATED, 3L);
+        doReturn(Optional.empty()).when(this.reviewIngestionQueue).findPending(trackingId);
+        doReturn(Optional.of(submission)).when(this.reviewSubmissionService).findReviewSubmission(trackingId);
+
+        // when
+        ReviewSubmission result = this.service.getReviewSubmission(1L, trackingId);
+
+        // then
+        assertEquals(submission, result);
+    }
+
+    @Test
+    void getReviewSubmission_SubmissionBelongsToAnotherProduct_ThrowsResourceNotFoundException() {
+        // given
+        UUID trackingId = UUID.randomUUID();
+        ReviewSubmission submission = new ReviewSubmission(trackingId, 2L, ReviewSubmissionStatus.FAILED, null);
+        doReturn(Optional.empty()).when(this.reviewIngestionQueue).findPending(trackingId);
+        doReturn(Optional.of(submission)).when(this.reviewSubmissionService).findReviewSubmission(trackingId);
+
+        // when
+        var exception = assertThrows(ResourceNotFoundException.class,
+                () -> this.service.getReviewSubmission(1L, trackingId));
+
+        // then
+        assertEquals("online_store_service.reviews.ingestion.errors.submission_not_found", exception.getMessage());
     }
 
     @Test
     void getAllProductReviews_ProductExists_ReturnsProductReviews() {
+        // given
+        Customer customer = new Customer(UUID.randomUUID(), "Artem");
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 16, 11, 22);
+        List<ProductReviewView> reviews = LongStream.range(1, 4)
+                .mapToObj(i -> reviewView(i, customer, createdAt))
+                .toList();
+
+        doReturn(reviews).when(this.reviewRepository).findAllProductReviewViews(1L);
+
+        // when
+        List<Review> result = this.service.getAllProductReviews(1L);
+
+        // then
+        assertEquals(LongStream.range(1, 4)
+                .mapToObj(i -> new Review(i, (int) i, null, customer, createdAt,
+                        "advantages " + i, "disadvantages " + i, "comment " + i))
+                .toList(), result);
+
+        verify(this.reviewRepository).findAllProductReviewViews(1L);
+        verifyNoMoreInteractions(this.reviewRepository);
+        verifyNoInteractions(this.productService);
+    }
+
+    @Test
+    void getAllProductReviews_ProductHasNoReviews_ReturnsEmptyList() {
+        // given
+        ProductReviewView productOnly = mock(ProductReviewView.class);
+        doReturn(null).when(productOnly).getId();
+        doReturn(List.of(productOnly)).when(this.reviewRepository).findAllProductReviewViews(1L);
+
+        // when
+        List<Review> result = this.service.getAllProductReviews(1L);
+
+        // then
+        assertEquals(List.of(), result);
+
+        verify(this.reviewRepository).findAllProductReviewViews(1L);
+        verifyNoMoreInteractions(this.reviewRepository);
+        verifyNoInteractions(this.productService);
+    }
+
+    @Test
+    void getAllProductReviews_ProductDoesNotExist_ThrowsResourceNotFoundException() {
+        // given
+        doReturn(List.of()).when(this.reviewRepository).findAllProductReviewViews(10L);
+
+        // when
+        var exception = assertThrows(ResourceNotFoundException.class,
+                () -> this.service.getAllProductReviews(10L));
+
+        // then
+        assertEquals("online_store.errors.product.not_found", exception.getMessage());
+
+        verify(this.reviewRepository).findAllProductReviewViews(10L);
+        verifyNoMoreInteractions(this.reviewRepository);
+        verifyNoInteractions(this.productService);
+    }
+
+    @Test
+    void getProductReviews_ProductExists_ReturnsReviewsWindow() {
         // given
         Product product = new Product(1L, "title", BigDecimal.valueOf(1000));
         Customer customer = new Customer(UUID.randomUUID(), "Artem");
-        List<Review> reviews = LongStream.range(1, 4)
+        List<Review> reviews = LongStream.range(1, 3)
                 .mapToObj(i -> new Review(i, (int) i, product, customer,
                         LocalDateTime.now(), "advantages " + i, "disadvantages " + i, "comment " + i))
                 .toList();
+        Window<Review> window = Window.from(reviews, ScrollPosition::offset, true);
 
         doReturn(true).when(this.productService).existsProductById(1L);
-        doReturn(reviews).when(this.reviewRepository).findAllByProductId(1L);
+        doReturn(window).when(this.reviewRepository).findAllByForProductId(1L, ScrollPosition.keyset(),
+                ReviewSort.RATING.toSort(), Limit.of(2));
 
         // when
-        Iterable<Review> result = this.service.getAllProductReviews(1L);
+        Window<Review> result = this.service.getProductReviews(1L, ReviewSort.RATING, ScrollPosition.keyset(), 2);
 
         // then
-        assertEquals(reviews, result);
+        assertEquals(window, result);
 
         verify(this.productService).existsProductById(1L);
         verifyNoMoreInteractions(this.productService);
 
-        verify(this.reviewRepository).findAllByProductId(1L);
+        verify(this.reviewRepository).findAllByForProductId(1L, ScrollPosition.keyset(),
+                ReviewSort.RATING.toSort(), Limit.of(2));
         verifyNoMoreInteractions(this.reviewRepository);
     }
 
     @Test
-    void getAllProductReviews_ProductDoesNotExist_ThrowsResourceNotFoundException() {
+    void getProductReviews_ProductDoesNotExist_ThrowsResourceNotFoundException() {
         // given
         doReturn(false).when(this.productService).existsProductById(10L);
 
         // when
         var exception = assertThrows(ResourceNotFoundException.class,
-                () -> this.service.getAllProductReviews(10L));
+                () -> this.service.getProductReviews(10L, ReviewSort.NEWEST, ScrollPosition.keyset(), 20));
 
         // then
         assertEquals("online_store.errors.product.not_found", exception.getMessage());
 
         verify(this.productService).existsProductById(10L);
         verifyNoMoreInteractions(this.productService);
+        verifyNoInteractions(this.reviewRepository);
+    }
+
+    static ProductReviewView reviewView(long id, Customer customer, LocalDateTime createdAt) {
+        ProductReviewView view = mock(ProductReviewView.class);
+        doReturn(id).when(view).getId();
+        doReturn((int) id).when(view).getRating();
+        doReturn(customer.getId()).when(view).getCustomerId();
+        doReturn(customer.getUsername()).when(view).getCustomerUsername();
+        doReturn(createdAt).when(view).getCreatedAt();
+        doReturn("advantages " + id).when(view).getAdvantages();
+        doReturn("disadvantages " + id).when(view).getDisadvantages();
+        doReturn("comment " + id).when(view).getComment();
+        return view;
     }
 }
\ No newline at end of file
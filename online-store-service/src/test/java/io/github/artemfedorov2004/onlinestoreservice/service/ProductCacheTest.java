@@ -0,0 +1,163 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheTest {
+
+    @Mock
+    ProductRepository productRepository;
+
+    SimpleMeterRegistry meterRegistry;
+
+    ProductCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.productCache = new ProductCache(this.productRepository, this.meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void findProduct_ProductIsCached_LoadsProductOnce() {
+        // given
+        doReturn(Optional.of(new Product(1L, "Товар №1", new BigDecimal(1000))))
+                .when(this.productRepository).findById(1L);
+
+        // when
+        this.productCache.findProduct(1L);
+        Optional<Product> result = this.productCache.findProduct(1L);
+
+        // then
+        assertEquals(Optional.of(new Product(1L, "Товар №1", new BigDecimal(1000))), result);
+
+        verify(this.productRepository).findById(1L);
+        verifyNoMoreInteractions(this.productRepository);
+
+        assertEquals(1, this.meterRegistry.get("cache.gets").tag("cache", "products")
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1, this.meterRegistry.get("cache.gets").tag("cache", "products")
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void findProduct_ProductIsBeingLoaded_WaitsForLoadAndCountsCoalescedRequest() throws InterruptedException {
+        // given
+        var release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(new Product(1L, "Товар №1", new BigDecimal(1000)));
+        }).when(this.productRepository).findById(1L);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // when
+            var first = CompletableFuture.supplyAsync(() -> this.productCache.findProduct(1L), executor);
+            verify(this.productRepository, timeout(5000)).findById(1L);
+            var second = CompletableFuture.supplyAsync(() -> this.productCache.findProduct(1L), executor);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (this.meterRegistry.get("single.flight.coalesced").tag("name", "product").counter().count() < 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            // then
+            assertEquals(Optional.of(new Product(1L, "Товар №1", new BigDecimal(1000))), first.join());
+            assertEquals(Optional.of(new Product(1L, "Товар №1", new BigDecimal(1000))), second.join());
+        }
+
+        verify(this.productRepository).findById(1L);
+        verifyNoMoreInteractions(this.productRepository);
+
+        assertEquals(1, this.meterRegistry.get("single.flight.coalesced").tag("name", "product")
+                .counter().count());
+    }
+
+    @Test
+    void findProduct_ProductDoesNotExist_CachesAbsence() {
+        // given
+        doReturn(Optional.empty()).when(this.productRepository).findById(10L);
+
+        // when
+        this.productCache.findProduct(10L);
+        Optional<Product> result = this.productCache.findProduct(10L);
+
+        // then
+        assertEquals(Optional.empty(), result);
+
+        verify(this.productRepository).findById(10L);
+        verifyNoMoreInteractions(this.productRepository);
+    }
+
+    @Test
+    void onProductChanged_ReloadsProductOnNextCall() {
+        // given
+        doReturn(Optional.of(new Product(1L, "Товар №1", new BigDecimal(1000))),
+                Optional.of(new Product(1L, "Товар №1", new BigDecimal(500))))
+                .when(this.productRepository).findById(1L);
+        this.productCache.findProduct(1L);
+
+        // when
+        this.productCache.onProductChanged(new ProductChangedEvent(1L));
+        Optional<Product> result = this.productCache.findProduct(1L);
+
+        // then
+        assertEquals(Optional.of(new Product(1L, "Товар №1", new BigDecimal(500))), result);
+
+        verify(this.productRepository, times(2)).findById(1L);
+        verifyNoMoreInteractions(this.productRepository);
+    }
+
+    @Test
+    void onChangeNotificationsReset_ReloadsAllProducts() {
+        // given
+        doReturn(Optional.of(new Product(1L, "Товар №1", new BigDecimal(1000))))
+                .when(this.productRepository).findById(1L);
+        doReturn(Optional.empty()).when(this.productRepository).findById(2L);
+        this.productCache.findProduct(1L);
+        this.productCache.findProduct(2L);
+
+        // when
+        this.productCache.onChangeNotificationsReset(new ChangeNotificationsResetEvent());
+        this.productCache.findProduct(1L);
+        this.productCache.findProduct(2L);
+
+        // then
+        verify(this.productRepository, times(2)).findById(1L);
+        verify(this.productRepository, times(2)).findById(2L);
+        verifyNoMoreInteractions(this.productRepository);
+    }
+
+    @Test
+    void evictAll_NoTransaction_ReloadsAllProducts() {
+        // given
+        doReturn(Optional.empty()).when(this.productRepository).findById(1L);
+        this.productCache.findProduct(1L);
+
+        // when
+        this.productCache.evictAll();
+        this.productCache.findProduct(1L);
+
+        // then
+        verify(this.productRepository, times(2)).findById(1L);
+        verifyNoMoreInteractions(this.productRepository);
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Customer;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Product;
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import io.github.artemfedorov2004.onlinestoreservice.repository.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Sql("/sql/reviews.sql")
+@Sql(scripts = "/sql/truncate.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ReviewIngestionDrainerIT {
+
+    @Autowired
+    ReviewIngestionQueue reviewIngestionQueue;
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Autowired
+    ReviewSubmissionService reviewSubmissionService;
+
+    @Autowired
+    ReviewRepository reviewRepository;
+
+    @MockitoBean
+    ReviewIngestionDrainer reviewIngestionDrainer;
+
+    @Test
+    void drainBatch_BatchContainsReviewOfMissingProduct_StoresOtherReviewsAndDeadLettersIt()
+            throws InterruptedException {
+        // given
+        var drainer = new ReviewIngestionDrainer(this.reviewIngestionQueue, this.reviewService,
+                this.reviewSubmissionService, new SimpleMeterRegistry(), 10, Duration.ofMillis(100),
+                Duration.ofSeconds(1));
+        Customer customer = new Customer(UUID.fromString("11dcb1eb-54a9-47e4-9fa0-c0cddbd62177"), "Artem");
+        PendingReview first = pendingReview(new Product(1L, "Ананас", BigDecimal.valueOf(100)), customer, 5);
+        PendingReview missingProduct = pendingReview(new Product(999L, "Нет в базе", BigDecimal.valueOf(100)),
+                customer, 3);
+        PendingReview second = pendingReview(new Product(1L, "Ананас", BigDecimal.valueOf(100)), customer, 4);
+        this.reviewIngestionQueue.submit(first);
+        this.reviewIngestionQueue.submit(missingProduct);
+        this.reviewIngestionQueue.submit(second);
+
+        // when
+        int result = drainer.drainBatch();
+
+        // then
+        assertEquals(3, result);
+
+        ReviewSubmission firstSubmission = this.reviewSubmissionService.findReviewSubmission(first.trackingId())
+                .orElseThrow();
+        assertEquals(ReviewSubmissionStatus.CREATED, firstSubmission.status());
+        assertEquals(5, this.reviewRepository.findById(firstSubmission.reviewId()).orElseThrow().getRating());
+
+        ReviewSubmission secondSubmission = this.reviewSubmissionService.findReviewSubmission(second.trackingId())
+                .orElseThrow();
+        assertEquals(ReviewSubmissionStatus.CREATED, secondSubmission.status());
+        assertEquals(4, this.reviewRepository.findById(secondSubmission.reviewId()).orElseThrow().getRating());
+
+        ReviewSubmission missingProductSubmission = this.reviewSubmissionService
+                .findReviewSubmission(missingProduct.trackingId())
+                .orElseThrow();
+        assertEquals(ReviewSubmissionStatus.FAILED, missingProductSubmission.status());
+        assertNull(missingProductSubmission.reviewId());
+
+        assertEquals(6, this.reviewRepository.count());
+        assertTrue(this.reviewIngestionQueue.isEmpty());
+    }
+
+    private static PendingReview pendingReview(Product product, Customer customer, int rating) {
+        return new PendingReview(UUID.randomUUID(), Review.builder()
+                .rating(rating)
+                .forProduct(product)
+                .createdBy(customer)
+                .createdAt(LocalDateTime.now())
+                .comment("comment %d".formatted(rating))
+                .build());
+    }
+}
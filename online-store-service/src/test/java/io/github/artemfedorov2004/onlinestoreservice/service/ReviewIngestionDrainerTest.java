@@ -0,0 +1,119 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewIngestionDrainerTest {
+
+    @Mock
+    ReviewService reviewService;
+
+    @Mock
+    ReviewSubmissionService reviewSubmissionService;
+
+    SimpleMeterRegistry meterRegistry;
+
+    ReviewIngestionQueue queue;
+
+    ReviewIngestionDrainer drainer;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.queue = new ReviewIngestionQueue(this.meterRegistry, 10, Duration.ofSeconds(1));
+        this.drainer = new ReviewIngestionDrainer(this.queue, this.reviewService, this.reviewSubmissionService,
+                this.meterRegistry,
+                10, Duration.ofMillis(10), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void drainBatch_QueueHasReviews_CreatesReviewsInOneBatch() throws InterruptedException {
+        // given
+        PendingReview first = new PendingReview(UUID.randomUUID(), Review.builder().rating(5).build());
+        PendingReview second = new PendingReview(UUID.randomUUID(), Review.builder().rating(4).build());
+        this.queue.submit(first);
+        this.queue.submit(second);
+
+        // when
+        int result = this.drainer.drainBatch();
+
+        // then
+        assertEquals(2, result);
+        assertEquals(1, this.meterRegistry.get("review.ingestion.batch.size").summary().count());
+        assertTrue(this.queue.findPending(first.trackingId()).isEmpty());
+        assertTrue(this.queue.findPending(second.trackingId()).isEmpty());
+
+        verify(this.reviewService).createReviews(List.of(first, second));
+        verifyNoMoreInteractions(this.reviewService);
+        verifyNoInteractions(this.reviewSubmissionService);
+    }
+
+    @Test
+    void drainBatch_BatchFails_CreatesReviewsOneByOneAndRecordsFailures() throws InterruptedException {
+        // given
+        PendingReview first = new PendingReview(UUID.randomUUID(), Review.builder().rating(5).build());
+        PendingReview second = new PendingReview(UUID.randomUUID(), Review.builder().rating(4).build());
+        this.queue.submit(first);
+        this.queue.submit(second);
+
+        doThrow(IllegalStateException.class).when(this.reviewService).createReviews(List.of(first, second));
+        doThrow(IllegalStateException.class).when(this.reviewService).createReviews(List.of(first));
+
+        // when
+        int result = this.drainer.drainBatch();
+
+        // then
+        assertEquals(2, result);
+
+        verify(this.reviewService).createReviews(List.of(first, second));
+        verify(this.reviewService).createReviews(List.of(first));
+        verify(this.reviewService).createReviews(List.of(second));
+        verifyNoMoreInteractions(this.reviewService);
+        verify(this.reviewSubmissionService).recordFailed(first, "java.lang.IllegalStateException");
+        verifyNoMoreInteractions(this.reviewSubmissionService);
+        assertTrue(this.queue.findPending(first.trackingId()).isEmpty());
+        assertTrue(this.queue.findPending(second.trackingId()).isEmpty());
+    }
+
+    @Test
+    void drainBatch_RecordingFailureFails_CompletesReview() throws InterruptedException {
+        // given
+        PendingReview pendingReview = new PendingReview(UUID.randomUUID(), Review.builder().rating(5).build());
+        this.queue.submit(pendingReview);
+
+        doThrow(IllegalStateException.class).when(this.reviewService).createReviews(List.of(pendingReview));
+        doThrow(IllegalStateException.class).when(this.reviewSubmissionService)
+                .recordFailed(pendingReview, "java.lang.IllegalStateException");
+
+        // when
+        int result = this.drainer.drainBatch();
+
+        // then
+        assertEquals(1, result);
+        assertTrue(this.queue.findPending(pendingReview.trackingId()).isEmpty());
+    }
+
+    @Test
+    void drainBatch_QueueIsEmpty_DoesNothing() throws InterruptedException {
+        // when
+        int result = this.drainer.drainBatch();
+
+        // then
+        assertEquals(0, result);
+        verifyNoInteractions(this.reviewService);
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.entity.Review;
+import io.github.artemfedorov2004.onlinestoreservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewIngestionQueueTest {
+
+    SimpleMeterRegistry meterRegistry;
+
+    ReviewIngestionQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.queue = new ReviewIngestionQueue(this.meterRegistry, 2, Duration.ofSeconds(3));
+    }
+
+    @Test
+    void drain_QueueHasReviews_ReturnsUpToMaxSize() throws InterruptedException {
+        // given
+        PendingReview first = new PendingReview(UUID.randomUUID(), Review.builder().rating(5).build());
+        PendingReview second = new PendingReview(UUID.randomUUID(), Review.builder().rating(4).build());
+        this.queue.submit(first);
+        this.queue.submit(second);
+
+        // when
+        List<PendingReview> result = this.queue.drain(1, Duration.ofMillis(10));
+
+        // then
+        assertEquals(List.of(first), result);
+        assertEquals(1.0, this.meterRegistry.get("review.ingestion.queue.depth").gauge().value());
+    }
+
+    @Test
+    void findPending_ReviewIsDrainedButNotCompleted_ReturnsReview() throws InterruptedException {
+        // given
+        PendingReview pendingReview = new PendingReview(UUID.randomUUID(), Review.builder().rating(5).build());
+        this.queue.submit(pendingReview);
+        this.queue.drain(1, Duration.ofMillis(10));
+
+        // when
+        Optional<PendingReview> result = this.queue.findPending(pendingReview.trackingId());
+
+        // then
+        assertEquals(Optional.of(pendingReview), result);
+    }
+
+    @Test
+    void findPending_ReviewIsCompleted_ReturnsEmptyOptional() {
+        // given
+        PendingReview pendingReview = new PendingReview(UUID.randomUUID(), Review.builder().rating(5).build());
+        this.queue.submit(pendingReview);
+        this.queue.drainAll();
+        this.queue.complete(pendingReview);
+
+        // when
+        Optional<PendingReview> result = this.queue.findPending(pendingReview.trackingId());
+
+        // then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void drain_QueueIsEmpty_ReturnsEmptyListAfterTimeout() throws InterruptedException {
+        // when
+        List<PendingReview> result = this.queue.drain(10, Duration.ofMillis(10));
+
+        // then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void submit_QueueIsFull_ThrowsServiceUnavailableException() {
+        // given
+        this.queue.submit(new PendingReview(UUID.randomUUID(), Review.builder().build()));
+        this.queue.submit(new PendingReview(UUID.randomUUID(), Review.builder().build()));
+
+        // when
+        var exception = assertThrows(ServiceUnavailableException.class,
+                () -> this.queue.submit(new PendingReview(UUID.randomUUID(), Review.builder().build())));
+
+        // then
+        assertEquals("online_store_service.reviews.ingestion.errors.queue_is_full", exception.getMessage());
+        assertEquals(Duration.ofSeconds(3), exception.getRetryAfter());
+        assertEquals(1.0, this.meterRegistry.get("review.ingestion.rejected").counter().count());
+        assertEquals(2, this.queue.drainAll().size());
+    }
+
+    @Test
+    void submit_QueueIsClosed_ThrowsServiceUnavailableException() {
+        // given
+        this.queue.close();
+
+        // when
+        assertThrows(ServiceUnavailableException.class,
+                () -> this.queue.submit(new PendingReview(UUID.randomUUID(), Review.builder().build())));
+
+        // then
+        assertTrue(this.queue.isEmpty());
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.artemfedorov2004.onlinestoreservice.service;
+
+import io.github.artemfedorov2004.onlinestoreservice.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    SimpleMeterRegistry meterRegistry;
+
+    SingleFlight<Long, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.singleFlight = new SingleFlight<>("product", this.meterRegistry);
+    }
+
+    @Test
+    void execute_ConcurrentCallsForSameKey_LoadsOnce() throws Exception {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> this.singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                loadStarted.countDown();
+                await(releaseLoad);
+                return "Товар №1";
+            }), executor);
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+            List<CompletableFuture<String>> followers = IntStream.range(0, 10)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> this.singleFlight.execute(1L, () -> {
+                        loads.incrementAndGet();
+                        return "Товар №1";
+                    }), executor))
+                    .toList();
+            while (this.coalesced() < 10) {
+                Thread.onSpinWait();
+            }
+
+            // when
+            releaseLoad.countDown();
+
+            // then
+            assertEquals("Товар №1", leader.get(5, TimeUnit.SECONDS));
+            for (CompletableFuture<String> follower : followers) {
+                assertEquals("Товар №1", follower.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loads.get());
+        assertEquals(10.0, this.coalesced());
+    }
+
+    @Test
+    void execute_LoadFails_PropagatesExceptionAndForgetsCall() {
+        // when
+        assertThrows(ResourceNotFoundException.class, () -> this.singleFlight.execute(1L, () -> {
+            throw new ResourceNotFoundException("online_store.errors.product.not_found");
+        }));
+        String result = this.singleFlight.execute(1L, () -> "Товар №1");
+
+        // then
+        assertEquals("Товар №1", result);
+        assertEquals(0.0, this.coalesced());
+    }
+
+    @Test
+    void execute_SequentialCalls_LoadsEachTime() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        this.singleFlight.execute(1L, () -> "Товар №" + loads.incrementAndGet());
+        String result = this.singleFlight.execute(1L, () -> "Товар №" + loads.incrementAndGet());
+
+        // then
+        assertEquals("Товар №2", result);
+        assertEquals(0.0, this.coalesced());
+    }
+
+    private double coalesced() {
+        return this.meterRegistry.get("single.flight.coalesced").tag("name", "product").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
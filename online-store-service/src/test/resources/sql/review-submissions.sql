@@ -0,0 +1,3 @@
+insert into online_store.t_review_submission(id, id_product, id_review, c_status)
+values ('5f0a7f3e-7a52-4b8c-9d0e-2f6b8a1c4d3e', 1, 4, 'CREATED'),
+       ('0b8c5d2e-1f3a-4c6b-8e9d-7a2f4b6c8d0e', 1, null, 'FAILED');
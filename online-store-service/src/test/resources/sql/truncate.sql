@@ -0,0 +1,8 @@
+truncate online_store.t_review_submission,
+    online_store.t_product_review,
+    online_store.t_customer_review,
+    online_store.t_review,
+    online_store.t_product_rating_stats,
+    online_store.t_customer_oidcuser,
+    online_store.t_customer,
+    online_store.t_product;